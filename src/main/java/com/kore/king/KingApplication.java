@@ -3,10 +3,12 @@ package com.kore.king;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @EnableRetry
+@EnableScheduling
 public class KingApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.kore.king.dto.ActiveReferral;
+
+/**
+ * The activeReferrals entries: two ids, read on every settlement of a winner's bet. Misses are
+ * cached as the cache's own null marker and never reach this codec.
+ */
+public class ActiveReferralCodec implements CacheValueCodec<ActiveReferral> {
+
+    @Override
+    public int typeId() {
+        return 5;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof ActiveReferral;
+    }
+
+    @Override
+    public void write(ActiveReferral referral, DataOutputStream out) throws IOException {
+        out.writeLong(referral.getReferralId());
+        out.writeLong(referral.getReferrerId());
+    }
+
+    @Override
+    public ActiveReferral read(DataInputStream in, int version) throws IOException {
+        return new ActiveReferral(in.readLong(), in.readLong());
+    }
+}
@@ -0,0 +1,118 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.Result;
+import com.kore.king.entity.User;
+
+/**
+ * availableBets pages. Only the bet fields the lobby and bet cards render are kept, plus the id
+ * and username of each participant, where JSON would carry the full User graph. Participants
+ * come back as id/username stubs with no balances (Bet never renders them). Decoded bets are
+ * detached and must never be passed to a repository; lobby pages are LobbyBet cards instead
+ * (LobbyBetPageCodec).
+ * <p>
+ * An empty page says nothing about its element type, so only pages holding bets are taken here;
+ * empty ones go to EmptyPageCodec.
+ */
+public class BetPageCodec implements CacheValueCodec<Page<Bet>> {
+
+    @Override
+    public int typeId() {
+        return 2;
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof Page<?> page && page.hasContent()
+                && page.getContent().stream().allMatch(Bet.class::isInstance);
+    }
+
+    @Override
+    public void write(Page<Bet> page, DataOutputStream out) throws IOException {
+        CodecStreams.writePageable(out, page.getPageable());
+        out.writeLong(page.getTotalElements());
+        out.writeInt(page.getNumberOfElements());
+        for (Bet bet : page.getContent()) {
+            CodecStreams.writeLong(out, bet.getId());
+            CodecStreams.writeString(out, bet.getTitle());
+            CodecStreams.writeString(out, bet.getDescription());
+            CodecStreams.writeInt(out, bet.getPoints());
+            CodecStreams.writeString(out, bet.getGameType());
+            CodecStreams.writeEnum(out, bet.getStatus());
+            CodecStreams.writeString(out, bet.getGameCode());
+            CodecStreams.writeEnum(out, bet.getCreatorResult());
+            CodecStreams.writeEnum(out, bet.getAcceptorResult());
+            CodecStreams.writeDateTime(out, bet.getCreatedAt());
+            CodecStreams.writeDateTime(out, bet.getExpiresAt());
+            CodecStreams.writeDateTime(out, bet.getAcceptedAt());
+            writeUser(out, bet.getCreator());
+            writeUser(out, bet.getAcceptor());
+        }
+    }
+
+    @Override
+    public Page<Bet> read(DataInputStream in, int version) throws IOException {
+        // Version 1 kept no sort
+        Pageable pageable = version == 1
+                ? PageRequest.of(in.readInt(), Math.max(in.readInt(), 1))
+                : CodecStreams.readPageable(in);
+        long total = in.readLong();
+        int count = in.readInt();
+
+        List<Bet> bets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bet bet = new Bet();
+            bet.setId(CodecStreams.readLong(in));
+            bet.setTitle(CodecStreams.readString(in));
+            bet.setDescription(CodecStreams.readString(in));
+            bet.setPoints(CodecStreams.readInt(in));
+            bet.setGameType(CodecStreams.readString(in));
+            bet.setStatus(CodecStreams.readEnum(in, BetStatus.class));
+            bet.setGameCode(CodecStreams.readString(in));
+            bet.setCreatorResult(CodecStreams.readEnum(in, Result.class));
+            bet.setAcceptorResult(CodecStreams.readEnum(in, Result.class));
+            bet.setCreatedAt(CodecStreams.readDateTime(in));
+            bet.setExpiresAt(CodecStreams.readDateTime(in));
+            bet.setAcceptedAt(CodecStreams.readDateTime(in));
+            bet.setCreator(readUser(in));
+            bet.setAcceptor(readUser(in));
+            bets.add(bet);
+        }
+        return new PageImpl<>(bets, pageable, total);
+    }
+
+    private void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeBoolean(user != null);
+        if (user != null) {
+            CodecStreams.writeLong(out, user.getId());
+            CodecStreams.writeString(out, user.getUsername());
+        }
+    }
+
+    private User readUser(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        User user = new User();
+        user.setId(CodecStreams.readLong(in));
+        user.setUsername(CodecStreams.readString(in));
+        return user;
+    }
+}
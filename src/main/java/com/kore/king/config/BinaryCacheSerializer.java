@@ -0,0 +1,170 @@
+package com.kore.king.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * Redis value serializer that encodes known cache values with a CacheValueCodec and falls back
+ * to JSON for anything else. Record layout:
+ *
+ *   magic (1) | flags (1) | type id (2) | version (1) | [raw length (4) if compressed] | payload
+ *
+ * Payloads above the compression threshold are LZ4-compressed when that actually saves space.
+ * Values written before this serializer (plain JSON) never start with the magic byte and are
+ * still read through the JSON fallback, so the switch needs no cache flush.
+ */
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB7;
+    static final int JSON_TYPE = 0;
+
+    private static final byte COMPRESSED = 1;
+    private static final int HEADER = 5;
+    private static final int MAX_RAW_LENGTH = 64 * 1024 * 1024;
+
+    private final Map<Integer, CacheValueCodec<?>> codecsById = new HashMap<>();
+    private final List<CacheValueCodec<?>> codecs;
+    private final GenericJackson2JsonRedisSerializer json = jsonSerializer();
+    private final int compressThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    // The safe decompressor bounds-checks its input, so a corrupt record fails instead of overrunning
+    private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+    public BinaryCacheSerializer(List<CacheValueCodec<?>> codecs, int compressThreshold) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codec.typeId() <= JSON_TYPE || codecsById.put(codec.typeId(), codec) != null) {
+                throw new IllegalArgumentException("Invalid or duplicate cache codec type id " + codec.typeId());
+            }
+        }
+        this.codecs = List.copyOf(codecs);
+        this.compressThreshold = compressThreshold;
+    }
+
+    // The JSON fallback, with java.time support for the timestamps on entities and DTOs
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        CacheValueCodec<Object> codec = codecFor(value);
+        byte[] payload;
+        int typeId;
+        int version;
+        if (codec != null) {
+            payload = encode(codec, value);
+            typeId = codec.typeId();
+            version = codec.version();
+        } else {
+            payload = json.serialize(value);
+            typeId = JSON_TYPE;
+            version = 1;
+        }
+
+        byte flags = 0;
+        byte[] body = payload;
+        if (payload.length > compressThreshold) {
+            byte[] compressed = compressor.compress(payload);
+            if (compressed.length + 4 < payload.length) {
+                flags = COMPRESSED;
+                body = compressed;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER + 4 + body.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(flags);
+            out.writeShort(typeId);
+            out.writeByte(version);
+            if (flags == COMPRESSED) {
+                out.writeInt(payload.length);
+            }
+            out.write(body);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache record", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            in.readByte();
+            byte flags = in.readByte();
+            int typeId = in.readUnsignedShort();
+            int version = in.readUnsignedByte();
+
+            byte[] payload;
+            if (flags == COMPRESSED) {
+                int rawLength = in.readInt();
+                if (rawLength < 0 || rawLength > MAX_RAW_LENGTH) {
+                    throw new SerializationException("Corrupt cache record length " + rawLength);
+                }
+                payload = decompressor.decompress(bytes, HEADER + 4, bytes.length - HEADER - 4, rawLength);
+            } else {
+                payload = new byte[bytes.length - HEADER];
+                in.readFully(payload);
+            }
+
+            if (typeId == JSON_TYPE) {
+                return json.deserialize(payload);
+            }
+            CacheValueCodec<?> codec = codecsById.get(typeId);
+            if (codec == null) {
+                throw new SerializationException("No cache codec for type id " + typeId);
+            }
+            return codec.read(new DataInputStream(new ByteArrayInputStream(payload)), version);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache record", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheValueCodec<Object> codecFor(Object value) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codec.supports(value)) {
+                return (CacheValueCodec<Object>) codec;
+            }
+        }
+        return null;
+    }
+
+    private byte[] encode(CacheValueCodec<Object> codec, Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(value, out);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,9 +1,11 @@
 package com.kore.king.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,18 +14,33 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({LocalCacheProperties.class, SingleFlightProperties.class})
 public class CacheConfig {
 
+    // Per-cache TTLs, shared by the Redis and the local cache managers
+    static final Map<String, Duration> CACHE_TTLS = Map.of(
+            "availableBets", Duration.ofSeconds(30),
+            "activeReferrals", Duration.ofMinutes(10),
+            "adminStats", Duration.ofMinutes(2),
+            "paymentRequests", Duration.ofMinutes(15),
+            "withdrawalRequests", Duration.ofMinutes(15));
+
     // Redis Connection Factory for production
     @Bean
     @ConditionalOnProperty(name = "spring.redis.host")
@@ -31,52 +48,140 @@ public class CacheConfig {
         return new JedisConnectionFactory();
     }
 
+    // Binary records for the values we cache most, JSON for everything else; add a
+    // CacheValueCodec bean to give another type a compact encoding
+    @Bean
+    public BetPageCodec betPageCodec() {
+        return new BetPageCodec();
+    }
+
+    @Bean
+    public LobbyBetPageCodec lobbyBetPageCodec() {
+        return new LobbyBetPageCodec();
+    }
+
+    @Bean
+    public EmptyPageCodec emptyPageCodec() {
+        return new EmptyPageCodec();
+    }
+
+    @Bean
+    public StatsMapCodec statsMapCodec() {
+        return new StatsMapCodec();
+    }
+
+    @Bean
+    public ActiveReferralCodec activeReferralCodec() {
+        return new ActiveReferralCodec();
+    }
+
+    @Bean
+    public BinaryCacheSerializer cacheValueSerializer(List<CacheValueCodec<?>> codecs,
+                                                      @Value("${app.cache.codec.compress-threshold:1024}") int compressThreshold) {
+        return new BinaryCacheSerializer(codecs, compressThreshold);
+    }
+
     // Redis Template
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       BinaryCacheSerializer cacheValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(redisConnectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(cacheValueSerializer);
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setHashValueSerializer(cacheValueSerializer);
         template.afterPropertiesSet();
         return template;
     }
 
-    // Redis Cache Manager (Primary for production)
+    // Announces L1 puts and evictions to the other nodes and applies theirs to ours
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.host")
+    public CacheInvalidations cacheInvalidations(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        return new CacheInvalidations(redisConnectionFactory, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.host")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory redisConnectionFactory,
+                                                                   CacheInvalidations cacheInvalidations) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidations, new ChannelTopic(CacheInvalidations.CHANNEL));
+        return container;
+    }
+
+    // Versioned cache keys must agree across nodes, so their generations live in Redis too
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.host")
+    public CacheGenerations redisCacheGenerations(RedisConnectionFactory redisConnectionFactory,
+                                                  @Value("${app.cache.generation-memo:1s}") Duration memo) {
+        return new RedisCacheGenerations(redisConnectionFactory, memo);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.host", havingValue = "false", matchIfMissing = true)
+    public CacheGenerations localCacheGenerations() {
+        return new LocalCacheGenerations();
+    }
+
+    // Redis Cache Manager (Primary for production): Redis is the shared L2, with a bounded
+    // in-process L1 in front of it so hot keys are served from memory on every node
     @Bean
     @Primary
     @ConditionalOnProperty(name = "spring.redis.host")
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                          LocalCacheProperties properties,
+                                          SingleFlightProperties singleFlight,
+                                          CacheInvalidations cacheInvalidations,
+                                          BinaryCacheSerializer cacheValueSerializer,
+                                          MeterRegistry meterRegistry) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cacheConfigurations.put("userStats", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        cacheConfigurations.put("availableBets", defaultConfig.entryTtl(Duration.ofSeconds(30)));
-        cacheConfigurations.put("adminStats", defaultConfig.entryTtl(Duration.ofMinutes(2)));
-        cacheConfigurations.put("paymentRequests", defaultConfig.entryTtl(Duration.ofMinutes(15)));
-        cacheConfigurations.put("withdrawalRequests", defaultConfig.entryTtl(Duration.ofMinutes(15)));
+        CACHE_TTLS.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        List<SingleFlightCache> caches = new ArrayList<>();
+        CACHE_TTLS.forEach((name, ttl) -> {
+            LocalCache local = LocalCache.create(name, properties.l1SpecFor(name, ttl));
+            CaffeineCacheMetrics.monitor(meterRegistry, local.getNativeCache(), name, "cache.level", "l1");
+            TwoLevelCache cache = new TwoLevelCache(name, local, redisCacheManager.getCache(name), cacheInvalidations);
+            cacheInvalidations.register(cache);
+            caches.add(new SingleFlightCache(cache, singleFlight.timeoutFor(name), meterRegistry));
+        });
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
     }
 
-    // In-memory Cache Manager (Fallback for development)
+    // In-memory Cache Manager (Fallback for development and single-node deployments).
+    // Bounded per cache and honouring the same TTLs as Redis.
     @Bean
     @ConditionalOnProperty(name = "spring.redis.host", havingValue = "false", matchIfMissing = true)
-    public CacheManager simpleCacheManager() {
-        return new ConcurrentMapCacheManager(
-            "userStats", 
-            "availableBets", 
-            "adminStats",
-            "paymentRequests",
-            "withdrawalRequests"
-        );
+    public CacheManager simpleCacheManager(LocalCacheProperties properties,
+                                           SingleFlightProperties singleFlight,
+                                           MeterRegistry meterRegistry) {
+        List<SingleFlightCache> caches = new ArrayList<>();
+        CACHE_TTLS.forEach((name, ttl) -> {
+            LocalCache local = LocalCache.create(name, properties.specFor(name, ttl));
+            // Bound here because Boot only recognises a bare CaffeineCache, not the wrapper
+            CaffeineCacheMetrics.monitor(meterRegistry, local.getNativeCache(), name);
+            caches.add(new SingleFlightCache(local, singleFlight.timeoutFor(name), meterRegistry));
+        });
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
     }
-}
\ No newline at end of file
+}
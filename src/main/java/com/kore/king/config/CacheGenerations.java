@@ -0,0 +1,15 @@
+package com.kore.king.config;
+
+/**
+ * Named generation counters for versioned cache keys. A cache key that embeds the current
+ * generation of what it depends on is orphaned the moment that generation advances, so a whole
+ * slice of a cache can be invalidated without touching the other entries. A read that computed
+ * its key before the advance can only write back under the old key, which nobody reads again.
+ */
+public interface CacheGenerations {
+
+    long current(String name);
+
+    // Call after the change is committed, so a reader of the new generation sees the new data
+    void advance(String name);
+}
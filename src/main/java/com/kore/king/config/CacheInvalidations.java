@@ -0,0 +1,105 @@
+package com.kore.king.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the L1 of every node's TwoLevelCache coherent. Each put or eviction is published on a
+ * Redis channel, and every other node drops the matching L1 entry (or the whole L1 for a clear,
+ * or for a key that is not a String). Pub/sub is fire-and-forget, so a node that misses a
+ * message serves its stale copy until the L1 TTL runs out; that TTL is kept short for this reason.
+ * Other per-node copies (the lobby index) register a Subscriber under their own name and share
+ * the channel.
+ */
+public class CacheInvalidations implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidations.class);
+
+    public static final String CHANNEL = "betking:cache:invalidations";
+
+    private static final String CLEAR = "*";
+    private static final String KEY = "K";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter applied;
+
+    public CacheInvalidations(RedisConnectionFactory connectionFactory, MeterRegistry registry) {
+        this.redis = new StringRedisTemplate(connectionFactory);
+        this.published = Counter.builder("betking.cache.invalidations")
+                .description("L1 invalidations announced to other nodes")
+                .tag("direction", "sent")
+                .register(registry);
+        this.applied = Counter.builder("betking.cache.invalidations")
+                .description("L1 invalidations received from other nodes")
+                .tag("direction", "received")
+                .register(registry);
+    }
+
+    // Applies what other nodes announce for one name to this node's copy
+    public interface Subscriber {
+
+        void evictLocal(String key);
+
+        void clearLocal();
+    }
+
+    public void register(TwoLevelCache cache) {
+        register(cache.getName(), cache);
+    }
+
+    public void register(String name, Subscriber subscriber) {
+        subscribers.put(name, subscriber);
+    }
+
+    public void evicted(String cacheName, Object key) {
+        publish(cacheName, key instanceof String name ? KEY + name : CLEAR);
+    }
+
+    public void cleared(String cacheName) {
+        publish(cacheName, CLEAR);
+    }
+
+    private void publish(String cacheName, String target) {
+        try {
+            redis.convertAndSend(CHANNEL, nodeId + "\n" + cacheName + "\n" + target);
+            published.increment();
+        } catch (RuntimeException e) {
+            // L2 is already updated; other nodes catch up when their L1 entry expires
+            logger.warn("Could not publish invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        Subscriber subscriber = subscribers.get(parts[1]);
+        if (subscriber == null) {
+            return;
+        }
+        if (parts[2].startsWith(KEY)) {
+            subscriber.evictLocal(parts[2].substring(KEY.length()));
+        } else {
+            subscriber.clearLocal();
+        }
+        applied.increment();
+    }
+}
@@ -0,0 +1,24 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary encoding of one kind of cached value, for BinaryCacheSerializer. The type id is
+ * written into every record and must never be reused for a different type. Bump the version
+ * whenever the layout changes, and keep reading every older version that can still be in Redis
+ * (i.e. for at least the longest TTL after the deploy).
+ */
+public interface CacheValueCodec<T> {
+
+    int typeId();
+
+    int version();
+
+    boolean supports(Object value);
+
+    void write(T value, DataOutputStream out) throws IOException;
+
+    T read(DataInputStream in, int version) throws IOException;
+}
@@ -0,0 +1,117 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// Nullable field helpers shared by the cache codecs: a presence byte, then the value
+final class CodecStreams {
+
+    private CodecStreams() {}
+
+    // Length-prefixed UTF-8 rather than writeUTF, which caps a string at 64KB
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    static Integer readInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    // Seconds and nanos in UTC terms; LocalDateTime has no zone, so this is just a compact layout
+    static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    static <E extends Enum<E>> void writeEnum(DataOutputStream out, E value) throws IOException {
+        writeString(out, value != null ? value.name() : null);
+    }
+
+    static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    // Page number and size (absent when unpaged), then the sort orders with their full settings
+    static void writePageable(DataOutputStream out, Pageable pageable) throws IOException {
+        out.writeBoolean(pageable.isPaged());
+        if (pageable.isPaged()) {
+            out.writeInt(pageable.getPageNumber());
+            out.writeInt(pageable.getPageSize());
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        out.writeInt(orders.size());
+        for (Sort.Order order : orders) {
+            writeString(out, order.getProperty());
+            writeEnum(out, order.getDirection());
+            out.writeBoolean(order.isIgnoreCase());
+            writeEnum(out, order.getNullHandling());
+        }
+    }
+
+    static Pageable readPageable(DataInputStream in) throws IOException {
+        boolean paged = in.readBoolean();
+        int number = paged ? in.readInt() : 0;
+        int size = paged ? in.readInt() : 0;
+        int count = in.readInt();
+        List<Sort.Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String property = readString(in);
+            Sort.Direction direction = readEnum(in, Sort.Direction.class);
+            boolean ignoreCase = in.readBoolean();
+            Sort.Order order = new Sort.Order(direction, property, readEnum(in, Sort.NullHandling.class));
+            orders.add(ignoreCase ? order.ignoreCase() : order);
+        }
+        Sort sort = Sort.by(orders);
+        return paged ? PageRequest.of(number, size, sort) : Pageable.unpaged(sort);
+    }
+}
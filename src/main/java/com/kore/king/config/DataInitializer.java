@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.kore.king.entity.User;
 import com.kore.king.entity.UserRole;
 import com.kore.king.repository.UserRepository;
+import com.kore.king.service.TransactionService;
 
 @Component
 public class DataInitializer implements ApplicationRunner {
@@ -20,6 +21,7 @@ public class DataInitializer implements ApplicationRunner {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final Environment environment;
+    private final TransactionService transactionService;
     
     @Value("${app.admin.default-username:admin}")
     private String adminUsername;
@@ -30,10 +32,12 @@ public class DataInitializer implements ApplicationRunner {
     @Value("${app.admin.default-email:admin@betking.com}")
     private String adminEmail;
 
-    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder, Environment environment) {
+    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder, Environment environment,
+                           TransactionService transactionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.environment = environment;
+        this.transactionService = transactionService;
     }
 
     @Override
@@ -63,6 +67,7 @@ public class DataInitializer implements ApplicationRunner {
                 admin.setAvailablePoints(10000);
                 
                 userRepository.save(admin);
+                transactionService.recordOpeningBalance(admin, admin.getAvailablePoints());
                 System.out.println("Default admin user created: " + adminUsername);
                 
                 if (adminPassword.isEmpty()) {
@@ -80,6 +85,7 @@ public class DataInitializer implements ApplicationRunner {
                 employee.setAvailablePoints(5000);
                 
                 userRepository.save(employee);
+                transactionService.recordOpeningBalance(employee, employee.getAvailablePoints());
                 System.out.println("Sample employee admin created: employee / employee123");
             }
         } catch (Exception e) {
@@ -0,0 +1,43 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Empty pages of any cache. They carry no elements, so the page request, its sort and the total
+ * are all there is to keep, and the decoded page is the same whatever element type it was
+ * declared with. PageImpl cannot be read back from JSON, so these need a codec of their own.
+ */
+public class EmptyPageCodec implements CacheValueCodec<Page<?>> {
+
+    @Override
+    public int typeId() {
+        return 3;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof Page<?> page && !page.hasContent();
+    }
+
+    @Override
+    public void write(Page<?> page, DataOutputStream out) throws IOException {
+        CodecStreams.writePageable(out, page.getPageable());
+        out.writeLong(page.getTotalElements());
+    }
+
+    @Override
+    public Page<?> read(DataInputStream in, int version) throws IOException {
+        return new PageImpl<>(List.of(), CodecStreams.readPageable(in), in.readLong());
+    }
+}
@@ -0,0 +1,70 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.kore.king.dto.LobbyBet;
+
+/**
+ * Filtered lobby pages (availableBets, LOBBY keys). LobbyBet is already the card, so every field
+ * is kept and the decoded page is the one that was cached. Empty pages go to EmptyPageCodec.
+ */
+public class LobbyBetPageCodec implements CacheValueCodec<Page<LobbyBet>> {
+
+    @Override
+    public int typeId() {
+        return 4;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof Page<?> page && page.hasContent()
+                && page.getContent().stream().allMatch(LobbyBet.class::isInstance);
+    }
+
+    @Override
+    public void write(Page<LobbyBet> page, DataOutputStream out) throws IOException {
+        CodecStreams.writePageable(out, page.getPageable());
+        out.writeLong(page.getTotalElements());
+        out.writeInt(page.getNumberOfElements());
+        for (LobbyBet bet : page.getContent()) {
+            CodecStreams.writeLong(out, bet.getId());
+            CodecStreams.writeString(out, bet.getTitle());
+            CodecStreams.writeString(out, bet.getDescription());
+            CodecStreams.writeInt(out, bet.getPoints());
+            CodecStreams.writeString(out, bet.getGameType());
+            CodecStreams.writeDateTime(out, bet.getCreatedAt());
+            CodecStreams.writeDateTime(out, bet.getExpiresAt());
+            CodecStreams.writeLong(out, bet.getCreatorId());
+            CodecStreams.writeString(out, bet.getCreatorUsername());
+        }
+    }
+
+    @Override
+    public Page<LobbyBet> read(DataInputStream in, int version) throws IOException {
+        Pageable pageable = CodecStreams.readPageable(in);
+        long total = in.readLong();
+        int count = in.readInt();
+
+        List<LobbyBet> bets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bets.add(new LobbyBet(CodecStreams.readLong(in), CodecStreams.readString(in),
+                    CodecStreams.readString(in), CodecStreams.readInt(in), CodecStreams.readString(in),
+                    CodecStreams.readDateTime(in), CodecStreams.readDateTime(in),
+                    CodecStreams.readLong(in), CodecStreams.readString(in)));
+        }
+        return new PageImpl<>(bets, pageable, total);
+    }
+}
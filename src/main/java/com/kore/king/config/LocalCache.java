@@ -0,0 +1,87 @@
+package com.kore.king.config;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * A size-bounded Caffeine cache (W-TinyLFU admission) with a per-cache TTL and stats recording.
+ * With refreshAfterWrite set, a read of an entry older than that still returns the cached value
+ * and reloads it in the background by replaying the loader of the @Cacheable(sync = true) call
+ * that populated it. Entries written by a plain put have no loader and are dropped at refresh
+ * time instead, so they never outlive their TTL.
+ */
+public class LocalCache extends CaffeineCache {
+
+    private final Map<Object, Callable<?>> loaders;
+    private final boolean refreshing;
+
+    private LocalCache(String name, LoadingCache<Object, Object> cache,
+                       Map<Object, Callable<?>> loaders, boolean refreshing) {
+        super(name, cache, true);
+        this.loaders = loaders;
+        this.refreshing = refreshing;
+    }
+
+    public static LocalCache create(String name, LocalCacheProperties.Spec spec) {
+        return create(name, spec, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    static LocalCache create(String name, LocalCacheProperties.Spec spec, Ticker ticker, Executor executor) {
+        Map<Object, Callable<?>> loaders = new ConcurrentHashMap<>();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtl())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .removalListener((key, value, cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        loaders.remove(key);
+                    }
+                });
+        boolean refreshing = spec.getRefreshAfterWrite() != null;
+        if (refreshing) {
+            builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+        }
+
+        LoadingCache<Object, Object> cache = builder.build(new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                // Misses are filled by the @Cacheable call itself
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) throws Exception {
+                Callable<?> loader = loaders.get(key);
+                if (loader == null) {
+                    return null;
+                }
+                Object value = loader.call();
+                return value != null ? value : NullValue.INSTANCE;
+            }
+        });
+        return new LocalCache(name, cache, loaders, refreshing);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = super.get(key, valueLoader);
+        if (refreshing) {
+            loaders.put(key, valueLoader);
+        }
+        return value;
+    }
+}
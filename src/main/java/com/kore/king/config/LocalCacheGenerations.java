@@ -0,0 +1,22 @@
+package com.kore.king.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-node generations, paired with the local cache manager
+public class LocalCacheGenerations implements CacheGenerations {
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public long current(String name) {
+        AtomicLong generation = generations.get(name);
+        return generation != null ? generation.get() : 0;
+    }
+
+    @Override
+    public void advance(String name) {
+        generations.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+    }
+}
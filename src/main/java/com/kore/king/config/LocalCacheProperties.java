@@ -0,0 +1,66 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// app.cache.local.*: bounds for the in-process cache manager used when Redis is not configured
+@ConfigurationProperties(prefix = "app.cache.local")
+public class LocalCacheProperties {
+
+    // Applies to any cache without its own entry; TTLs come from CacheConfig.CACHE_TTLS
+    private long maximumSize = 10_000;
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    // With Redis, the local cache is an L1 in front of it; its entries never live longer than
+    // this, in case an invalidation message is missed
+    private Duration l1MaxTtl = Duration.ofSeconds(30);
+
+    public long getMaximumSize() { return maximumSize; }
+    public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+
+    public Map<String, Spec> getCaches() { return caches; }
+    public void setCaches(Map<String, Spec> caches) { this.caches = caches; }
+
+    public Duration getL1MaxTtl() { return l1MaxTtl; }
+    public void setL1MaxTtl(Duration l1MaxTtl) { this.l1MaxTtl = l1MaxTtl; }
+
+    public Spec specFor(String name, Duration defaultTtl) {
+        Spec configured = caches.get(name);
+        Spec spec = new Spec();
+        spec.setTtl(configured != null && configured.getTtl() != null ? configured.getTtl() : defaultTtl);
+        spec.setMaximumSize(configured != null && configured.getMaximumSize() != null
+                ? configured.getMaximumSize() : maximumSize);
+        spec.setRefreshAfterWrite(configured != null ? configured.getRefreshAfterWrite() : null);
+        return spec;
+    }
+
+    public Spec l1SpecFor(String name, Duration sharedTtl) {
+        Spec spec = specFor(name, sharedTtl);
+        if (spec.getTtl().compareTo(l1MaxTtl) > 0) {
+            spec.setTtl(l1MaxTtl);
+        }
+        // L1 misses fall through to Redis, so there is nothing worth refreshing locally
+        spec.setRefreshAfterWrite(null);
+        return spec;
+    }
+
+    public static class Spec {
+        private Duration ttl;
+        private Long maximumSize;
+        // Only entries populated through @Cacheable(sync = true) can be refreshed; see LocalCache
+        private Duration refreshAfterWrite;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public Long getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(Long maximumSize) { this.maximumSize = maximumSize; }
+
+        public Duration getRefreshAfterWrite() { return refreshAfterWrite; }
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) { this.refreshAfterWrite = refreshAfterWrite; }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kore.king.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends @Transactional(readOnly = true) work to read replicas and everything else to the primary.
+ * The application DataSource is a LazyConnectionDataSourceProxy: it only fetches a physical
+ * connection at the first statement, after the transaction manager has marked the connection
+ * read-only, and read-only connections come from the replica router.
+ * Open-in-view keeps one EntityManager per request, and Hibernate would hold the connection of
+ * its first transaction until the request ends, so a write after a read-only lookup would run
+ * on the replica. Connections are therefore released after every transaction, and each
+ * transaction is routed on its own.
+ * Enabled with app.datasource.routing.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    // The primary pool keeps all spring.datasource.* and spring.datasource.hikari.* settings.
+    // With workload pools enabled, those pools are the primary side instead.
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.workloads", name = "enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Spring's default holds the connection for the EntityManager's lifetime (the whole request)
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesPins readYourWritesPins(ReadReplicaProperties properties) {
+        return new ReadYourWritesPins(properties.getStickyWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ObjectProvider<HikariDataSource> primaryDataSource,
+                                                             ObjectProvider<WorkloadRoutingDataSource> workloadPools,
+                                                             ReadReplicaProperties properties,
+                                                             ReadYourWritesPins readYourWritesPins,
+                                                             MeterRegistry registry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (ReadReplicaProperties.Replica settings : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + settings.getName());
+            dataSource.setJdbcUrl(settings.getUrl());
+            dataSource.setUsername(settings.getUsername());
+            dataSource.setPassword(settings.getPassword());
+            dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // A replica that is down at startup must not stop the application
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(settings.getName(), dataSource));
+        }
+
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primarySide(primaryDataSource, workloadPools), replicas,
+                readYourWritesPins, properties.getMaxLag().toMillis() / 1000.0, registry);
+        router.checkReplicas();
+        return router;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ObjectProvider<HikariDataSource> primaryDataSource,
+                                 ObjectProvider<WorkloadRoutingDataSource> workloadPools,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(primarySide(primaryDataSource, workloadPools));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    private static DataSource primarySide(ObjectProvider<HikariDataSource> primaryDataSource,
+                                          ObjectProvider<WorkloadRoutingDataSource> workloadPools) {
+        WorkloadRoutingDataSource pools = workloadPools.getIfAvailable();
+        return pools != null ? pools : primaryDataSource.getObject();
+    }
+}
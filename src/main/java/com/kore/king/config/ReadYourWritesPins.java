@@ -0,0 +1,78 @@
+package com.kore.king.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Read-your-writes for replica routing. When a user's read-write transaction commits, that user's
+ * reads stay on the primary for the sticky window, so a replica that has not replayed the write
+ * yet never serves it back to them. Registered with the transaction manager as a listener.
+ * <p>
+ * Pins live in this node's memory, keyed by username, and are not shared. A read served by another
+ * node right after the write is not pinned there and may hit a replica up to max-lag behind, so
+ * routing assumes the load balancer keeps a session on one node (sticky sessions).
+ */
+public class ReadYourWritesPins implements TransactionExecutionListener {
+
+    // Expired pins are swept once the map grows past this
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesPins(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesPins(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            pinCurrentSession();
+        }
+    }
+
+    public void pinCurrentSession() {
+        String session = currentSession();
+        if (session == null) {
+            return;
+        }
+        long now = clock.millis();
+        pinnedUntil.put(session, now + windowMillis);
+        if (pinnedUntil.size() > SWEEP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    public boolean isCurrentSessionPinned() {
+        String session = currentSession();
+        if (session == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(session);
+        return until != null && until > clock.millis();
+    }
+
+    // Anonymous traffic and background threads have nothing to read back, so they are never pinned
+    private static String currentSession() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
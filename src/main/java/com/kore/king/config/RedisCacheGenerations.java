@@ -0,0 +1,59 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Cluster-wide generations kept in Redis (INCR). Each node memoizes what it read for a short
+ * while so that building a cache key does not cost a round trip on every hit; an advance made
+ * on another node is therefore seen here at most one memo period late.
+ */
+public class RedisCacheGenerations implements CacheGenerations {
+
+    private static final String KEY_PREFIX = "betking:cache:generation:";
+
+    private final StringRedisTemplate redis;
+    private final long memoNanos;
+    private final Map<String, Memo> memos = new ConcurrentHashMap<>();
+
+    public RedisCacheGenerations(RedisConnectionFactory connectionFactory, Duration memo) {
+        this.redis = new StringRedisTemplate(connectionFactory);
+        this.memoNanos = memo.toNanos();
+    }
+
+    @Override
+    public long current(String name) {
+        long now = System.nanoTime();
+        Memo memo = memos.get(name);
+        if (memo != null && now - memo.readAt < memoNanos) {
+            return memo.generation;
+        }
+
+        String stored = redis.opsForValue().get(KEY_PREFIX + name);
+        long generation = stored != null ? Long.parseLong(stored) : 0;
+        memos.put(name, new Memo(generation, now));
+        return generation;
+    }
+
+    @Override
+    public void advance(String name) {
+        Long generation = redis.opsForValue().increment(KEY_PREFIX + name);
+        if (generation != null) {
+            memos.put(name, new Memo(generation, System.nanoTime()));
+        }
+    }
+
+    private static final class Memo {
+        private final long generation;
+        private final long readAt;
+
+        private Memo(long generation, long readAt) {
+            this.generation = generation;
+            this.readAt = readAt;
+        }
+    }
+}
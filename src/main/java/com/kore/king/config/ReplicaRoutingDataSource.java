@@ -0,0 +1,150 @@
+package com.kore.king.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-only side of the routing setup. LazyConnectionDataSourceProxy hands connections for
+ * read-only transactions to this data source, which spreads them round-robin over the healthy
+ * replicas. It falls back to the primary when the session has just written or no replica is
+ * usable.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero on a caught-up standby and on a server that is not replaying WAL at all
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesPins pins;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesPins pins,
+                                    double maxLagSeconds, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.pins = pins;
+        this.maxLagSeconds = maxLagSeconds;
+
+        this.primaryReads = Counter.builder("betking.datasource.reads")
+                .description("Read-only connections handed out, by target")
+                .tag("target", "primary")
+                .register(registry);
+        for (Replica replica : replicas) {
+            replica.reads = Counter.builder("betking.datasource.reads")
+                    .description("Read-only connections handed out, by target")
+                    .tag("target", replica.name)
+                    .register(registry);
+            Gauge.builder("betking.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the replica in seconds, as of the last health check")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("betking.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is in read rotation")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = pins.isCurrentSessionPinned() ? null : nextHealthyReplica();
+        if (replica == null) {
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+        replica.reads.increment();
+        return replica.dataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the pools' own credentials");
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.health-check-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            String failure = null;
+            try {
+                Double lag = replica.jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+                replica.lagSeconds = lag != null ? lag : 0;
+                replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (RuntimeException e) {
+                replica.healthy = false;
+                failure = e.getMessage();
+            }
+
+            if (wasHealthy && !replica.healthy) {
+                logger.warn("Replica {} out of read rotation: {}", replica.name,
+                        failure != null ? failure : "lag " + replica.lagSeconds + "s");
+            } else if (!wasHealthy && replica.healthy) {
+                logger.info("Replica {} in read rotation", replica.name);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private Counter reads;
+        // Out of rotation until the first health check passes
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(1);
+        }
+
+        public String getName() { return name; }
+        public boolean isHealthy() { return healthy; }
+        public double getLagSeconds() { return lagSeconds; }
+    }
+}
@@ -0,0 +1,159 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Request coalescing for @Cacheable(sync = true). On a miss the first caller for a key loads it
+ * through the delegate; everyone else asking for that key meanwhile waits on the same future
+ * instead of hitting the database again. Waiters give up after the cache's timeout rather than
+ * queueing behind a stuck load. Plain get/put/evict pass straight through.
+ * <p>
+ * The L1 underneath (Caffeine) already collapses concurrent loads of a key on this node, but its
+ * callers block on the loading entry for as long as the load takes and are not counted. This layer
+ * only adds the bounded wait and the load/collapsed/timeout counts on top of it.
+ */
+public class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+    private final long timeoutNanos;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter collapsed;
+    private final Counter timeouts;
+
+    public SingleFlightCache(Cache delegate, Duration timeout, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+        this.loads = counter(registry, "load", "Cache misses loaded by the first caller for the key");
+        this.collapsed = counter(registry, "collapsed", "Cache misses that waited for another caller's load");
+        this.timeouts = counter(registry, "timeout", "Cache misses that gave up waiting for another caller's load");
+    }
+
+    private Counter counter(MeterRegistry registry, String outcome, String description) {
+        return Counter.builder("betking.cache.single_flight")
+                .description(description)
+                .tag("cache", delegate.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return (T) await(key, valueLoader, leader);
+        }
+
+        try {
+            loads.increment();
+            T value = delegate.get(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> leader) {
+        collapsed.increment();
+        try {
+            return leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            // The leader's failure, unwrapped the same way Spring unwraps its own
+            Throwable cause = e.getCause();
+            if (cause instanceof ValueRetrievalException retrieval) {
+                throw retrieval;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    // A load already in flight may have read the data being evicted, so later callers start
+    // a fresh one instead of joining it. The detached load still completes for its own waiters;
+    // L1 drops its result behind the eviction and TwoLevelCache skips writing it to L2.
+    @Override
+    public void evict(Object key) {
+        inFlight.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        inFlight.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.clear();
+        return delegate.invalidate();
+    }
+}
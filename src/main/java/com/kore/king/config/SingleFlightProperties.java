@@ -0,0 +1,27 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// app.cache.single-flight.*: how long a caller waits for another caller's load of the same key
+@ConfigurationProperties(prefix = "app.cache.single-flight")
+public class SingleFlightProperties {
+
+    private Duration timeout = Duration.ofSeconds(5);
+
+    // Per cache overrides, e.g. a longer wait for expensive reports
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+    public Map<String, Duration> getTimeouts() { return timeouts; }
+    public void setTimeouts(Map<String, Duration> timeouts) { this.timeouts = timeouts; }
+
+    public Duration timeoutFor(String cacheName) {
+        return timeouts.getOrDefault(cacheName, timeout);
+    }
+}
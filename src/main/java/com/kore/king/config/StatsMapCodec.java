@@ -0,0 +1,122 @@
+package com.kore.king.config;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flat String-keyed maps of scalars, such as the adminStats dashboard and recent activity. Each
+ * value carries a one-byte tag, so a Long still decodes as a Long (JSON would hand back an
+ * Integer for small numbers).
+ */
+public class StatsMapCodec implements CacheValueCodec<Map<String, Object>> {
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+    private static final byte BOOLEAN = 6;
+
+    @Override
+    public int typeId() {
+        return 1;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        if (!(value instanceof Map<?, ?> map)) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String) || tagOf(entry.getValue()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void write(Map<String, Object> map, DataOutputStream out) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            CodecStreams.writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            byte tag = tagOf(value);
+            out.writeByte(tag);
+            switch (tag) {
+                case LONG -> out.writeLong((Long) value);
+                case INTEGER -> out.writeInt((Integer) value);
+                case DOUBLE -> out.writeDouble((Double) value);
+                case DECIMAL -> {
+                    BigDecimal decimal = (BigDecimal) value;
+                    byte[] unscaled = decimal.unscaledValue().toByteArray();
+                    out.writeInt(decimal.scale());
+                    out.writeByte(unscaled.length);
+                    out.write(unscaled);
+                }
+                case STRING -> CodecStreams.writeString(out, (String) value);
+                case BOOLEAN -> out.writeBoolean((Boolean) value);
+                default -> {
+                    // NULL: the tag is the whole value
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> read(DataInputStream in, int version) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String key = CodecStreams.readString(in);
+            byte tag = in.readByte();
+            Object value = switch (tag) {
+                case LONG -> in.readLong();
+                case INTEGER -> in.readInt();
+                case DOUBLE -> in.readDouble();
+                case DECIMAL -> {
+                    int scale = in.readInt();
+                    byte[] unscaled = new byte[in.readUnsignedByte()];
+                    in.readFully(unscaled);
+                    yield new BigDecimal(new BigInteger(unscaled), scale);
+                }
+                case STRING -> CodecStreams.readString(in);
+                case BOOLEAN -> in.readBoolean();
+                case NULL -> null;
+                default -> throw new IOException("Unknown stats value tag " + tag);
+            };
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    private static byte tagOf(Object value) {
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof Long) {
+            return LONG;
+        } else if (value instanceof Integer) {
+            return INTEGER;
+        } else if (value instanceof Double) {
+            return DOUBLE;
+        } else if (value instanceof BigDecimal decimal && decimal.unscaledValue().bitLength() < 2040) {
+            return DECIMAL;
+        } else if (value instanceof String) {
+            return STRING;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kore.king.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+
+/**
+ * An in-process L1 (LocalCache) in front of a shared L2 (Redis). Reads are served from L1 when
+ * possible and fill it from L2 otherwise. Writes and evictions go to L2 first, then L1, and are
+ * then announced so the other nodes drop their L1 copy.
+ * <p>
+ * A load that misses both levels is tagged while it runs. Evicting its key, here or on another
+ * node, marks the tag, and the loaded value is then returned to its callers without being written
+ * to L2: it may predate the change the eviction announced.
+ */
+public class TwoLevelCache implements Cache, CacheInvalidations.Subscriber {
+
+    private final String name;
+    private final LocalCache local;
+    private final Cache shared;
+    private final CacheInvalidations invalidations;
+    // L2 misses being loaded on this node, by the key's string form (the form peers announce)
+    private final ConcurrentMap<String, Load> loading = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name, LocalCache local, Cache shared, CacheInvalidations invalidations) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    LocalCache getLocal() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = shared.get(key);
+        if (value != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value != null ? value.get() : null;
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Concurrent misses on this node share one L2 lookup (and at most one load). The load
+        // does not go through RedisCache.get(key, loader), which holds one lock per cache.
+        return local.get(key, () -> {
+            ValueWrapper stored = shared.get(key);
+            if (stored != null) {
+                return (T) stored.get();
+            }
+            Load load = new Load();
+            loading.put(String.valueOf(key), load);
+            try {
+                T value = valueLoader.call();
+                synchronized (load) {
+                    if (!load.evicted) {
+                        shared.put(key, value);
+                        invalidations.evicted(name, key);
+                    }
+                }
+                return value;
+            } finally {
+                loading.remove(String.valueOf(key), load);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        local.put(key, value);
+        invalidations.evicted(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = shared.putIfAbsent(key, value);
+        local.put(key, existing != null ? existing.get() : value);
+        if (existing == null) {
+            invalidations.evicted(name, key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        markEvicted(key);
+        shared.evict(key);
+        local.evict(key);
+        invalidations.evicted(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        markEvicted(key);
+        boolean present = shared.evictIfPresent(key);
+        local.evict(key);
+        invalidations.evicted(name, key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        markAllEvicted();
+        shared.clear();
+        local.clear();
+        invalidations.cleared(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        markAllEvicted();
+        boolean present = shared.invalidate();
+        local.invalidate();
+        invalidations.cleared(name);
+        return present;
+    }
+
+    // Applies an eviction announced by another node
+    @Override
+    public void evictLocal(String key) {
+        markEvicted(key);
+        local.evict(key);
+    }
+
+    @Override
+    public void clearLocal() {
+        markAllEvicted();
+        local.clear();
+    }
+
+    // Marked before L2 is touched: a load that already wrote is then overwritten by the eviction,
+    // and one that has not yet written sees the mark and skips its write
+    private void markEvicted(Object key) {
+        Load load = loading.get(String.valueOf(key));
+        if (load != null) {
+            load.evict();
+        }
+    }
+
+    private void markAllEvicted() {
+        loading.values().forEach(Load::evict);
+    }
+
+    private static final class Load {
+
+        private boolean evicted;
+
+        synchronized void evict() {
+            evicted = true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kore.king.config;
+
+// Connection pool a piece of database work draws from (see WorkloadRoutingDataSource)
+public enum WorkloadClass {
+    // Bet mutations and settlement; also the default for anything unannotated
+    TRANSACTIONAL("transactional"),
+    // Short user-facing reads: lobby, history, tickets
+    INTERACTIVE_READ("interactive-read"),
+    // Admin dashboards, searches and other scans that may be slow
+    REPORTING("reporting");
+
+    private final String poolName;
+
+    WorkloadClass(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() { return poolName; }
+}
@@ -0,0 +1,40 @@
+package com.kore.king.config;
+
+import java.util.function.Supplier;
+
+// The workload class of the current thread; TRANSACTIONAL unless something says otherwise
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.TRANSACTIONAL;
+    }
+
+    public static <T> T call(WorkloadClass workload, Supplier<T> work) {
+        WorkloadClass outer = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return work.get();
+        } finally {
+            restore(outer);
+        }
+    }
+
+    static WorkloadClass enter(WorkloadClass workload) {
+        WorkloadClass outer = CURRENT.get();
+        CURRENT.set(workload);
+        return outer;
+    }
+
+    static void restore(WorkloadClass outer) {
+        if (outer != null) {
+            CURRENT.set(outer);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kore.king.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits the primary into one pool per WorkloadClass, so a slow admin scan cannot hold the
+ * connections bet settlement needs. Each pool has its own size, connection timeout, statement
+ * timeout and hikaricp.* meters (tagged pool=transactional|interactive-read|reporting).
+ * Every pool is bound from spring.datasource.hikari first (minimum-idle, max-lifetime,
+ * idle-timeout, ...) and its own settings are applied on top; startup fails if neither sets a size.
+ * Enabled with app.datasource.workloads.enabled=true. With read replicas also enabled,
+ * ReadReplicaConfig uses these pools as its primary side.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.workloads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WorkloadProperties.class)
+public class WorkloadDataSourceConfig implements WebMvcConfigurer {
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                               WorkloadProperties workloadProperties,
+                                                               MeterRegistry registry,
+                                                               Environment environment,
+                                                               @Value("${spring.datasource.hikari.maximum-pool-size:0}") int defaultPoolSize) {
+        Binder binder = Binder.get(environment);
+        Map<WorkloadClass, DataSource> pools = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            HikariDataSource pool = createPool(workload, workloadProperties.getPool(workload),
+                    dataSourceProperties, binder, defaultPoolSize);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    // The same binding @ConfigurationProperties("spring.datasource.hikari") gives the single
+    // primary pool, then the workload's own settings
+    static HikariDataSource createPool(WorkloadClass workload, WorkloadProperties.Pool settings,
+                                       DataSourceProperties dataSourceProperties, Binder binder,
+                                       int defaultPoolSize) {
+        int maximumPoolSize = maximumPoolSize(workload, settings, defaultPoolSize);
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(workload.getPoolName());
+        pool.setMaximumPoolSize(maximumPoolSize);
+        if (settings.getConnectionTimeout() != null) {
+            pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        }
+        if (settings.getStatementTimeout() != null) {
+            pool.setConnectionInitSql("SET statement_timeout = " + settings.getStatementTimeout().toMillis());
+        }
+        return pool;
+    }
+
+    // Without replicas the lazy proxy still matters: the pool is picked at the first statement
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+
+    @Bean
+    public WorkloadAspect workloadAspect() {
+        return new WorkloadAspect();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WorkloadInterceptor());
+    }
+
+    // A missing size stops startup rather than leaving the pool at whatever Hikari defaults to
+    static int maximumPoolSize(WorkloadClass workload, WorkloadProperties.Pool settings, int defaultPoolSize) {
+        if (settings.getMaximumPoolSize() > 0) {
+            return settings.getMaximumPoolSize();
+        }
+        if (defaultPoolSize > 0) {
+            return defaultPoolSize;
+        }
+        throw new IllegalStateException("No size for the " + workload.getPoolName() + " pool: set "
+                + "app.datasource.workloads.pools." + workload.getPoolName() + ".maximum-pool-size "
+                + "or spring.datasource.hikari.maximum-pool-size");
+    }
+}
@@ -0,0 +1,42 @@
+package com.kore.king.config;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies a controller's @Workload for the whole request. With open-in-view the request's first
+ * query (usually GlobalControllerAdvice loading the user) fixes the connection, so the choice
+ * has to be made before any model attribute method runs.
+ */
+public class WorkloadInterceptor implements HandlerInterceptor {
+
+    private static final String OUTER = WorkloadInterceptor.class.getName() + ".outer";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            Workload workload = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Workload.class);
+            if (workload == null) {
+                workload = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Workload.class);
+            }
+            if (workload != null) {
+                request.setAttribute(OUTER, Boolean.TRUE);
+                WorkloadContext.enter(workload.value());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(OUTER) != null) {
+            request.removeAttribute(OUTER);
+            WorkloadContext.restore(null);
+        }
+    }
+}
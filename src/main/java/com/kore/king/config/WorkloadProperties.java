@@ -0,0 +1,48 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// app.datasource.workloads.*: one pool per WorkloadClass against the primary. Each pool starts
+// from spring.datasource.hikari.* and these settings override it (see WorkloadDataSourceConfig).
+@ConfigurationProperties(prefix = "app.datasource.workloads")
+public class WorkloadProperties {
+
+    private Map<WorkloadClass, Pool> pools = new EnumMap<>(WorkloadClass.class);
+
+    public Map<WorkloadClass, Pool> getPools() { return pools; }
+    public void setPools(Map<WorkloadClass, Pool> pools) { this.pools = pools; }
+
+    public Pool getPool(WorkloadClass workload) {
+        return pools.getOrDefault(workload, new Pool());
+    }
+
+    public static class Pool {
+        // 0 when unset
+        private int maximumPoolSize;
+        // How long a caller queues for a connection before it is rejected
+        private Duration connectionTimeout;
+        // Server-side cap per statement; null leaves it to the database default
+        private Duration statementTimeout;
+
+        public Pool() {}
+
+        Pool(int maximumPoolSize, Duration connectionTimeout, Duration statementTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeout = connectionTimeout;
+            this.statementTimeout = statementTimeout;
+        }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+        public Duration getConnectionTimeout() { return connectionTimeout; }
+        public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+
+        public Duration getStatementTimeout() { return statementTimeout; }
+        public void setStatementTimeout(Duration statementTimeout) { this.statementTimeout = statementTimeout; }
+    }
+}
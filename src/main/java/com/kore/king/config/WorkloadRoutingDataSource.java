@@ -0,0 +1,51 @@
+package com.kore.king.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Bulkheads on the primary: one pool per WorkloadClass, chosen from WorkloadContext when a
+ * connection is acquired. A saturated reporting pool makes reporting callers queue up to their
+ * own connection timeout and then fail; it never borrows from the transactional pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final Map<WorkloadClass, DataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<WorkloadClass, DataSource> pools) {
+        if (!pools.containsKey(WorkloadClass.TRANSACTIONAL)) {
+            throw new IllegalArgumentException("A transactional pool is required");
+        }
+        this.pools = new EnumMap<>(pools);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return poolFor(WorkloadContext.current()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return poolFor(WorkloadContext.current()).getConnection(username, password);
+    }
+
+    DataSource poolFor(WorkloadClass workload) {
+        DataSource pool = pools.get(workload);
+        return pool != null ? pool : pools.get(WorkloadClass.TRANSACTIONAL);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.kore.king.controller;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -8,22 +11,34 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
+import com.kore.king.dto.DailyAmount;
 import com.kore.king.entity.User;
+import com.kore.king.service.AdminStatsService;
 import com.kore.king.service.UserService;
 
+// Only the read and report pages run on the reporting pool; admin writes stay transactional
 @Controller
 @RequestMapping("/admin")
 @PreAuthorize("hasRole('MAIN_ADMIN') or hasRole('EMPLOYEE_ADMIN')")
 public class AdminController {
 
+    // Longest window the daily amounts report covers
+    private static final int MAX_REPORT_DAYS = 366;
+
     private final UserService userService;
+    private final AdminStatsService adminStatsService;
 
-    public AdminController(UserService userService) {
+    public AdminController(UserService userService, AdminStatsService adminStatsService) {
         this.userService = userService;
+        this.adminStatsService = adminStatsService;
     }
 
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/dashboard")
     public String adminDashboard(Authentication authentication, Model model) {
         try {
@@ -41,6 +56,15 @@ public class AdminController {
         }
     }
 
+    // Payment and withdrawal amounts per status and day, for the dashboard charts
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/stats/daily-amounts")
+    @ResponseBody
+    public Map<String, List<DailyAmount>> dailyAmounts(@RequestParam(defaultValue = "30") int days) {
+        return adminStatsService.getDailyAmounts(Math.max(0, Math.min(days, MAX_REPORT_DAYS)));
+    }
+
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/users")
     public String userManagement(Authentication authentication, Model model) {
         try {
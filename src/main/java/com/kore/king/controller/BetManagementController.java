@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.kore.king.dto.BetCard;
 import com.kore.king.entity.Bet;
 import com.kore.king.entity.User;
 import com.kore.king.service.BetService;
@@ -121,7 +122,7 @@ public class BetManagementController {
     @ResponseBody
     public String getBetCard(@PathVariable Long id, Authentication authentication, Model model) {
         try {
-            Bet bet = betService.findById(id)
+            BetCard bet = betService.findBetCard(id)
                     .orElseThrow(() -> new RuntimeException("Bet not found"));
             
             String username = authentication.getName();
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
 import com.kore.king.entity.User;
 import com.kore.king.service.BetService;
 import com.kore.king.service.TransactionService;
@@ -75,6 +77,7 @@ public class ProfileController {
         return "edit-profile";
     }
 
+    @Workload(WorkloadClass.INTERACTIVE_READ)
     @GetMapping("/transactions")
     public String transactionHistory(@RequestParam(defaultValue = "0") int page,
                                     Authentication authentication,
@@ -14,7 +14,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import com.kore.king.entity.Bet;
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
+import com.kore.king.dto.BetCard;
 import com.kore.king.entity.User;
 import com.kore.king.service.BetService;
 import com.kore.king.service.UserService;
@@ -31,6 +33,7 @@ public class UserController {
         this.betService = betService;
     }
 
+    @Workload(WorkloadClass.INTERACTIVE_READ)
     @GetMapping("/play")
     public String playPage(Authentication authentication, Model model,
                     @RequestParam(defaultValue = "0") int page,
@@ -50,17 +53,13 @@ public class UserController {
             
             Pageable pageable = PageRequest.of(page, size);
             
-            // Get all bets for display
-            Page<Bet> allBets = betService.findAllBetsForUserWithAvailable(user.getId(), pageable);
-            
-            // Debug logging
-            System.out.println("Total bets found: " + allBets.getTotalElements());
-            System.out.println("Bets content: " + allBets.getContent());
+            // Get all bets for display as read-only cards
+            Page<BetCard> allBets = betService.findPlayPageBets(user.getId(), pageable);
             
             model.addAttribute("allBets", allBets);
             
             // Get user's active bets for quick access
-            List<Bet> userActiveBets = betService.getUserActiveBets(user.getId());
+            List<BetCard> userActiveBets = betService.getUserActiveBetCards(user.getId());
             model.addAttribute("userActiveBets", userActiveBets);
             
             model.addAttribute("pageTitle", "Play Game");
@@ -77,6 +76,7 @@ public class UserController {
     }
     
     // Keep other simple pages as they are
+    @Workload(WorkloadClass.INTERACTIVE_READ)
     @GetMapping("/history")
     public String historyPage(Authentication authentication, Model model) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -85,6 +85,7 @@ public class UserController {
         return getUserPage(authentication, model, "Bet History", "user/history-content");
     }
 
+    @Workload(WorkloadClass.INTERACTIVE_READ)
     @GetMapping("/players")
     public String playersPage(Authentication authentication, Model model) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -172,7 +173,7 @@ public class UserController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return "<div class='alert alert-danger'>Not authenticated</div>";
             }
-            Bet bet = betService.findById(id)
+            BetCard bet = betService.findBetCard(id)
                     .orElseThrow(() -> new RuntimeException("Bet not found"));
             
             String username = authentication.getName();
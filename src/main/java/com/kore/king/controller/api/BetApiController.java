@@ -0,0 +1,112 @@
+package com.kore.king.controller.api;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
+import com.kore.king.dto.BatchBetResult;
+import com.kore.king.dto.BetDTO;
+import com.kore.king.dto.CreateBetRequest;
+import com.kore.king.dto.CursorPage;
+import com.kore.king.dto.LobbyBet;
+import com.kore.king.entity.User;
+import com.kore.king.exception.BatchTooLargeException;
+import com.kore.king.mapper.BetMapper;
+import com.kore.king.service.BetService;
+import com.kore.king.service.UserService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/v1/bets")
+public class BetApiController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // One batch is one transaction holding the creator's account lock
+    static final int MAX_BATCH_SIZE = 50;
+
+    private final BetService betService;
+    private final UserService userService;
+    private final BetMapper betMapper;
+
+    public BetApiController(BetService betService, UserService userService, BetMapper betMapper) {
+        this.betService = betService;
+        this.userService = userService;
+        this.betMapper = betMapper;
+    }
+
+    @Workload(WorkloadClass.INTERACTIVE_READ)
+    @GetMapping("/lobby")
+    public ResponseEntity<Page<LobbyBet>> getLobby(Authentication authentication,
+                                                   @RequestParam(required = false) String gameType,
+                                                   @RequestParam(required = false) Integer minPoints,
+                                                   @RequestParam(required = false) Integer maxPoints,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "10") int size) {
+        User user = currentUser(authentication);
+
+        Page<LobbyBet> lobby = betService.findLobbyBets(user.getId(), gameType, minPoints, maxPoints,
+                PageRequest.of(page, size));
+        return ResponseEntity.ok(lobby);
+    }
+
+    // Cursor-paginated listings; pass back nextCursor to get the following slice
+    @Workload(WorkloadClass.INTERACTIVE_READ)
+    @GetMapping("/lobby/seek")
+    public ResponseEntity<CursorPage<LobbyBet>> seekLobby(Authentication authentication,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "10") int size) {
+        User user = currentUser(authentication);
+        return ResponseEntity.ok(betService.findLobbyBets(user.getId(), cursor, pageSize(size)));
+    }
+
+    @Workload(WorkloadClass.INTERACTIVE_READ)
+    @GetMapping("/history")
+    public ResponseEntity<CursorPage<BetDTO>> getHistory(Authentication authentication,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        User user = currentUser(authentication);
+        return ResponseEntity.ok(betService.findUserBets(user.getId(), cursor, pageSize(size)).map(betMapper::toDTO));
+    }
+
+    @Workload(WorkloadClass.INTERACTIVE_READ)
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<BetDTO>> getFeed(Authentication authentication,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "10") int size) {
+        User user = currentUser(authentication);
+        return ResponseEntity.ok(betService.findAllBetsForUserWithAvailable(user.getId(), cursor, pageSize(size))
+                .map(betMapper::toDTO));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchBetResult>> createBets(Authentication authentication,
+                                                           @Valid @RequestBody List<@Valid CreateBetRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(requests.size(), MAX_BATCH_SIZE);
+        }
+        User user = currentUser(authentication);
+
+        return ResponseEntity.ok(betService.createBets(user.getId(), requests));
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,15 @@
+package com.kore.king.dto;
+
+// Ids of an active referral relationship, safe to cache across transactions
+public final class ActiveReferral {
+    private final Long referralId;
+    private final Long referrerId;
+
+    public ActiveReferral(Long referralId, Long referrerId) {
+        this.referralId = referralId;
+        this.referrerId = referrerId;
+    }
+
+    public Long getReferralId() { return referralId; }
+    public Long getReferrerId() { return referrerId; }
+}
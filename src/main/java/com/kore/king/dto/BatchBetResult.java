@@ -0,0 +1,27 @@
+package com.kore.king.dto;
+
+// Outcome of one item in a batch bet creation, in request order
+public final class BatchBetResult {
+    private final int index;
+    private final Long betId;
+    private final String error;
+
+    private BatchBetResult(int index, Long betId, String error) {
+        this.index = index;
+        this.betId = betId;
+        this.error = error;
+    }
+
+    public static BatchBetResult created(int index, Long betId) {
+        return new BatchBetResult(index, betId, null);
+    }
+
+    public static BatchBetResult failed(int index, String error) {
+        return new BatchBetResult(index, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public Long getBetId() { return betId; }
+    public String getError() { return error; }
+    public boolean isSuccess() { return error == null; }
+}
@@ -0,0 +1,66 @@
+package com.kore.king.dto;
+
+import java.time.LocalDateTime;
+
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.Result;
+
+/**
+ * Read model for bet cards on the play page. Selected with a JPQL constructor expression, so it
+ * carries only the columns the templates render and is never managed or dirty-checked.
+ */
+public final class BetCard {
+    private final Long id;
+    private final String title;
+    private final Integer points;
+    private final String gameType;
+    private final BetStatus status;
+    private final String gameCode;
+    private final Result creatorResult;
+    private final Result acceptorResult;
+    private final LocalDateTime createdAt;
+    private final Player creator;
+    private final Player acceptor;
+
+    public BetCard(Long id, String title, Integer points, String gameType, BetStatus status, String gameCode,
+                   Result creatorResult, Result acceptorResult, LocalDateTime createdAt,
+                   Long creatorId, String creatorUsername, Long acceptorId, String acceptorUsername) {
+        this.id = id;
+        this.title = title;
+        this.points = points;
+        this.gameType = gameType;
+        this.status = status;
+        this.gameCode = gameCode;
+        this.creatorResult = creatorResult;
+        this.acceptorResult = acceptorResult;
+        this.createdAt = createdAt;
+        this.creator = creatorId != null ? new Player(creatorId, creatorUsername) : null;
+        this.acceptor = acceptorId != null ? new Player(acceptorId, acceptorUsername) : null;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public Integer getPoints() { return points; }
+    public String getGameType() { return gameType; }
+    public BetStatus getStatus() { return status; }
+    public String getGameCode() { return gameCode; }
+    public Result getCreatorResult() { return creatorResult; }
+    public Result getAcceptorResult() { return acceptorResult; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Player getCreator() { return creator; }
+    public Player getAcceptor() { return acceptor; }
+
+    // Just enough of a User for templates that read bet.creator.username
+    public static final class Player {
+        private final Long id;
+        private final String username;
+
+        public Player(Long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+    }
+}
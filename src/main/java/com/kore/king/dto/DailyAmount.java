@@ -0,0 +1,27 @@
+package com.kore.king.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One (status, day) bucket of payment or withdrawal amounts. Selected with a JPQL constructor
+ * expression over a GROUP BY, so the database does the summing.
+ */
+public final class DailyAmount {
+    private final String status;
+    private final LocalDate day;
+    private final BigDecimal total;
+    private final long requests;
+
+    public DailyAmount(Enum<?> status, LocalDate day, BigDecimal total, Long requests) {
+        this.status = status != null ? status.name() : null;
+        this.day = day;
+        this.total = total != null ? total : BigDecimal.ZERO;
+        this.requests = requests != null ? requests : 0L;
+    }
+
+    public String getStatus() { return status; }
+    public LocalDate getDay() { return day; }
+    public BigDecimal getTotal() { return total; }
+    public long getRequests() { return requests; }
+}
@@ -0,0 +1,47 @@
+package com.kore.king.dto;
+
+import java.time.LocalDateTime;
+
+import com.kore.king.entity.Bet;
+
+// Immutable snapshot of a PENDING bet as shown in the lobby
+public final class LobbyBet {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Integer points;
+    private final String gameType;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private final Long creatorId;
+    private final String creatorUsername;
+
+    public LobbyBet(Long id, String title, String description, Integer points, String gameType,
+                    LocalDateTime createdAt, LocalDateTime expiresAt, Long creatorId, String creatorUsername) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.points = points;
+        this.gameType = gameType;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.creatorId = creatorId;
+        this.creatorUsername = creatorUsername;
+    }
+
+    public static LobbyBet from(Bet bet) {
+        return new LobbyBet(bet.getId(), bet.getTitle(), bet.getDescription(), bet.getPoints(),
+                bet.getGameType(), bet.getCreatedAt(), bet.getExpiresAt(),
+                bet.getCreator().getId(), bet.getCreator().getUsername());
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Integer getPoints() { return points; }
+    public String getGameType() { return gameType; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public Long getCreatorId() { return creatorId; }
+    public String getCreatorUsername() { return creatorUsername; }
+}
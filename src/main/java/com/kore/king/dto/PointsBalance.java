@@ -0,0 +1,14 @@
+package com.kore.king.dto;
+
+public final class PointsBalance {
+    private final int available;
+    private final int held;
+
+    public PointsBalance(int available, int held) {
+        this.available = available;
+        this.held = held;
+    }
+
+    public int getAvailable() { return available; }
+    public int getHeld() { return held; }
+}
@@ -0,0 +1,51 @@
+package com.kore.king.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Balance of one account as of lastTransactionId; later ledger rows are added on top
+@Entity
+@Table(name = "balance_snapshots", indexes = {
+    @Index(name = "idx_snapshot_user_last_tx", columnList = "user_id, last_transaction_id")
+})
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+    private int availablePoints;
+    private int heldPoints;
+    private Long lastTransactionId;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public BalanceSnapshot() {}
+
+    public BalanceSnapshot(Long userId, int availablePoints, int heldPoints, Long lastTransactionId) {
+        this.userId = userId;
+        this.availablePoints = availablePoints;
+        this.heldPoints = heldPoints;
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public int getAvailablePoints() { return availablePoints; }
+    public void setAvailablePoints(int availablePoints) { this.availablePoints = availablePoints; }
+    public int getHeldPoints() { return heldPoints; }
+    public void setHeldPoints(int heldPoints) { this.heldPoints = heldPoints; }
+    public Long getLastTransactionId() { return lastTransactionId; }
+    public void setLastTransactionId(Long lastTransactionId) { this.lastTransactionId = lastTransactionId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -5,18 +5,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -27,21 +33,37 @@ import jakarta.persistence.Table;
     @Index(name = "idx_bet_created", columnList = "createdAt"),
     @Index(name = "idx_bet_status_created", columnList = "status, createdAt")
 })
+// Associations are LAZY; callers pick a fetch plan per use case
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Bet.GRAPH_LOBBY_CARD, attributeNodes = @NamedAttributeNode("creator")),
+    @NamedEntityGraph(name = Bet.GRAPH_SETTLEMENT, attributeNodes = {
+        @NamedAttributeNode("creator"), @NamedAttributeNode("acceptor")
+    })
+})
 public class Bet {
+    public static final String GRAPH_LOBBY_CARD = "Bet.lobbyCard";
+    public static final String GRAPH_SETTLEMENT = "Bet.settlement";
+
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bets_seq")
+    @SequenceGenerator(name = "bets_seq", sequenceName = "bets_seq", allocationSize = PooledIds.ALLOCATION_SIZE)
     private Long id;
     
     private String title;
     private String description;
     private Integer points;
     
-    @ManyToOne
+    // A bet's participants are shown by name; their balances stay out of bet payloads (and out of
+    // the cached pages, which only keep id and username)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id", nullable = false)
+    @JsonIgnoreProperties({"availablePoints", "heldPoints"})
     private User creator;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "acceptor_id")
+    @JsonIgnoreProperties({"availablePoints", "heldPoints"})
     private User acceptor;
     
     @Enumerated(EnumType.STRING)
@@ -62,7 +84,9 @@ public class Bet {
     
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime expiresAt;
+    private LocalDateTime acceptedAt;
     private LocalDateTime codeSharedAt;
+    private LocalDateTime resultSubmittedAt;
     private LocalDateTime completedAt;
     
     private String creatorSocketId;
@@ -147,8 +171,12 @@ public class Bet {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getExpiresAt() { return expiresAt; }
     public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getAcceptedAt() { return acceptedAt; }
+    public void setAcceptedAt(LocalDateTime acceptedAt) { this.acceptedAt = acceptedAt; }
     public LocalDateTime getCodeSharedAt() { return codeSharedAt; }
     public void setCodeSharedAt(LocalDateTime codeSharedAt) { this.codeSharedAt = codeSharedAt; }
+    public LocalDateTime getResultSubmittedAt() { return resultSubmittedAt; }
+    public void setResultSubmittedAt(LocalDateTime resultSubmittedAt) { this.resultSubmittedAt = resultSubmittedAt; }
     public LocalDateTime getCompletedAt() { return completedAt; }
     public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
     public String getCreatorSocketId() { return creatorSocketId; }
@@ -0,0 +1,71 @@
+package com.kore.king.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// One row per (bet, player), so user-scoped bet queries scan a single user_id index
+@Entity
+@Table(name = "bet_participants",
+    uniqueConstraints = @UniqueConstraint(name = "uk_participant_bet_user", columnNames = {"bet_id", "user_id"}),
+    indexes = {
+        @Index(name = "idx_participant_user_status", columnList = "user_id, status, created_at"),
+        @Index(name = "idx_participant_user_created", columnList = "user_id, created_at, bet_id")
+    })
+public class BetParticipant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bet_participants_seq")
+    @SequenceGenerator(name = "bet_participants_seq", sequenceName = "bet_participants_seq", allocationSize = PooledIds.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "bet_id", nullable = false)
+    private Long betId;
+
+    @Enumerated(EnumType.STRING)
+    private ParticipantRole role;
+
+    // Mirrors bets.status; kept in step by BetService
+    @Enumerated(EnumType.STRING)
+    private BetStatus status;
+
+    // Copy of bets.created_at so listings can order without touching bets
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public BetParticipant() {}
+
+    public BetParticipant(Bet bet, User user, ParticipantRole role) {
+        this.betId = bet.getId();
+        this.userId = user.getId();
+        this.role = role;
+        this.status = bet.getStatus();
+        this.createdAt = bet.getCreatedAt();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getBetId() { return betId; }
+    public void setBetId(Long betId) { this.betId = betId; }
+    public ParticipantRole getRole() { return role; }
+    public void setRole(ParticipantRole role) { this.role = role; }
+    public BetStatus getStatus() { return status; }
+    public void setStatus(BetStatus status) { this.status = status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
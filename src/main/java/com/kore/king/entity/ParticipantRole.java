@@ -0,0 +1,6 @@
+package com.kore.king.entity;
+
+public enum ParticipantRole {
+    CREATOR,
+    ACCEPTOR
+}
@@ -0,0 +1,13 @@
+package com.kore.king.entity;
+
+/**
+ * Block size shared by the pooled id sequences. Hibernate runs them with the pooled-lo optimizer,
+ * so each nextval hands out [value, value + ALLOCATION_SIZE); JDBC bulk inserts reserve ids the
+ * same way. The V5 migration creates the sequences with a matching INCREMENT BY.
+ */
+public final class PooledIds {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private PooledIds() {}
+}
@@ -7,12 +7,24 @@ import java.util.List;
 
 @Entity
 @Table(name = "support_tickets")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = SupportTicket.GRAPH_ADMIN, attributeNodes = {
+        @NamedAttributeNode("user"), @NamedAttributeNode("relatedBet")
+    }),
+    @NamedEntityGraph(name = SupportTicket.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("user"), @NamedAttributeNode("relatedBet"),
+        @NamedAttributeNode(value = "messages", subgraph = "messages")
+    }, subgraphs = @NamedSubgraph(name = "messages", attributeNodes = @NamedAttributeNode("user")))
+})
 public class SupportTicket {
+    public static final String GRAPH_ADMIN = "SupportTicket.admin";
+    public static final String GRAPH_DETAIL = "SupportTicket.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -31,7 +43,7 @@ public class SupportTicket {
     private TicketPriority priority = TicketPriority.MEDIUM;
 
     // Reference to related bet if any
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "related_bet_id")
     private Bet relatedBet;
 
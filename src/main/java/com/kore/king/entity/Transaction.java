@@ -3,44 +3,65 @@ package com.kore.king.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 @Entity
+// Range-partitioned by month on created_at (V6); see LedgerPartitionService
 @Table(name = "transactions", indexes = {
-    @Index(name = "idx_transaction_from_user", columnList = "fromUser_id"),
-    @Index(name = "idx_transaction_to_user", columnList = "toUser_id"),
+    @Index(name = "idx_transaction_from_user", columnList = "from_user_id, createdAt"),
+    @Index(name = "idx_transaction_to_user", columnList = "to_user_id, createdAt"),
     @Index(name = "idx_transaction_bet", columnList = "bet_id"),
     @Index(name = "idx_transaction_created", columnList = "createdAt"),
-    @Index(name = "idx_transaction_type", columnList = "type")
+    @Index(name = "idx_transaction_type", columnList = "type"),
+    @Index(name = "idx_transaction_account", columnList = "account_id, id")
+})
+@NamedEntityGraph(name = Transaction.GRAPH_HISTORY, attributeNodes = {
+    @NamedAttributeNode("fromUser"), @NamedAttributeNode("toUser"), @NamedAttributeNode("bet")
 })
 public class Transaction {
+    public static final String GRAPH_HISTORY = "Transaction.history";
+
+
     @Id
+    // Assigned by the column default at insert time, never from a pooled block: balance snapshots
+    // use the id as a watermark, so ids must follow insert order
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_user_id")
     private User fromUser;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "to_user_id")
     private User toUser;
     
     private Integer points;
     
+    // Ledger columns: the account whose balance moves and by how much
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    private Integer availableDelta;
+    private Integer heldDelta;
+    
     @Enumerated(EnumType.STRING)
     private TransactionType type;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bet_id")
     private Bet bet;
     
@@ -61,6 +82,15 @@ public class Transaction {
     public Integer getPoints() { return points; }
     public void setPoints(Integer points) { this.points = points; }
     
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public Integer getAvailableDelta() { return availableDelta; }
+    public void setAvailableDelta(Integer availableDelta) { this.availableDelta = availableDelta; }
+    
+    public Integer getHeldDelta() { return heldDelta; }
+    public void setHeldDelta(Integer heldDelta) { this.heldDelta = heldDelta; }
+    
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
     
@@ -7,5 +7,11 @@ public enum TransactionType {
     REFUND,          // Points returned when bet cancelled
     DISPUTE_REFUND,  // Points returned due to dispute
     PLATFORM_FEE,    // Platform commission collected
-    REFERRAL_BONUS   // Referral commission paid
+    REFERRAL_BONUS,  // Referral commission paid
+    BET_SETTLEMENT,  // Held stake consumed when a bet is settled
+    DEPOSIT,         // Points bought through an approved payment
+    WITHDRAWAL_HOLD, // Points held while a withdrawal is pending
+    WITHDRAWAL,      // Held points paid out by an approved withdrawal
+    WITHDRAWAL_RELEASE, // Held points returned by a rejected withdrawal
+    OPENING_BALANCE  // Starting points granted to a new account
 }
\ No newline at end of file
@@ -4,6 +4,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -28,7 +34,20 @@ import jakarta.validation.constraints.Size;
     @Index(name = "idx_user_role", columnList = "role"),
     @Index(name = "idx_user_created", columnList = "createdAt")
 })
+// Row changes invalidate through @Version under READ_WRITE. Ledger writes never touch this row,
+// so TransactionService evicts the accounts they move to keep the cached balance formulas current.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
+
+    // Balances are derived from the latest snapshot plus the ledger tail and are never written to this row
+    private static final String LAST_SNAPSHOT_TX =
+        "coalesce((select max(s2.last_transaction_id) from balance_snapshots s2 where s2.user_id = id), 0)";
+    private static final String SNAPSHOT_ROW =
+        "from balance_snapshots s where s.user_id = id and s.last_transaction_id = " + LAST_SNAPSHOT_TX;
+    private static final String LEDGER_TAIL =
+        "from transactions t where t.account_id = id and t.id > " + LAST_SNAPSHOT_TX;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,6 +55,7 @@ public class User {
     @Version
     private Long version; // ADD OPTIMISTIC LOCKING
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     @Size(min = 3, max = 50)
     private String username;
@@ -48,7 +68,12 @@ public class User {
     @Email
     private String email;
 
-    private int availablePoints = 1000;
+    @Formula("(coalesce((select s.available_points " + SNAPSHOT_ROW + "), 0)"
+            + " + coalesce((select sum(t.available_delta) " + LEDGER_TAIL + "), 0))")
+    private int availablePoints = 0;
+
+    @Formula("(coalesce((select s.held_points " + SNAPSHOT_ROW + "), 0)"
+            + " + coalesce((select sum(t.held_delta) " + LEDGER_TAIL + "), 0))")
     private int heldPoints = 0;
 
     @Enumerated(EnumType.STRING)
@@ -100,6 +125,14 @@ public class User {
     public synchronized void awardPoints(int points) {
         this.availablePoints += points;
     }
+    
+    // Held points leave the account for good (lost stake, paid-out withdrawal)
+    public synchronized void settleHeldPoints(int points) {
+        if (this.heldPoints < points) {
+            throw new RuntimeException("Cannot settle more points than held. Held: " + heldPoints + ", Requested: " + points);
+        }
+        this.heldPoints -= points;
+    }
 
     // Getters and Setters
     public Long getId() { return id; }
@@ -2,6 +2,9 @@ package com.kore.king.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -15,6 +18,7 @@ import jakarta.persistence.UniqueConstraint;
 @Entity
 @Table(name = "user_game_ids", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "game_name", "game_id"}))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-game-ids")
 public class UserGameId {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
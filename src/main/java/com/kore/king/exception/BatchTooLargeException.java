@@ -0,0 +1,9 @@
+package com.kore.king.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class BatchTooLargeException extends BetKingException {
+    public BatchTooLargeException(int size, int max) {
+        super("Batch of " + size + " bets exceeds the limit of " + max, "BATCH_TOO_LARGE", HttpStatus.BAD_REQUEST);
+    }
+}
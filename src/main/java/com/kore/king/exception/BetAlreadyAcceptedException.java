@@ -0,0 +1,10 @@
+package com.kore.king.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class BetAlreadyAcceptedException extends BetKingException {
+    public BetAlreadyAcceptedException(Long betId) {
+        super("Bet is no longer available. It was accepted by another player: " + betId,
+              "BET_ALREADY_ACCEPTED", HttpStatus.CONFLICT);
+    }
+}
@@ -6,14 +6,16 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
 import org.springframework.ui.Model;
 import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.thymeleaf.exceptions.TemplateInputException;
 
 @ControllerAdvice
@@ -49,7 +51,20 @@ public class GlobalExceptionHandler {
                 .stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.toList());
+        return validationFailed(errors);
+    }
+
+    // Constraints on handler parameters themselves, e.g. the elements of a List body
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationErrors(HandlerMethodValidationException e) {
+        List<String> errors = e.getAllErrors()
+                .stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+        return validationFailed(errors);
+    }
 
+    private ResponseEntity<ErrorResponse> validationFailed(List<String> errors) {
         ErrorResponse errorResponse = new ErrorResponse(
             "VALIDATION_ERROR",
             "Validation failed: " + String.join(", ", errors),
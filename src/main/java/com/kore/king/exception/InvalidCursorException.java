@@ -0,0 +1,9 @@
+package com.kore.king.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends BetKingException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor, "INVALID_CURSOR", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Controller;
 
 import com.kore.king.entity.Bet;
 import com.kore.king.entity.BetStatus;
+import com.kore.king.repository.BetParticipantRepository;
 import com.kore.king.repository.BetRepository;
 
 @Controller
@@ -23,12 +24,15 @@ public class WebSocketEventHandler {
     @Autowired
     private BetRepository betRepository;
 
+    @Autowired
+    private BetParticipantRepository participantRepository;
+
     @MessageMapping("/bet/{betId}/join")
     public void handleJoinBet(@DestinationVariable String betId, Map<String, String> payload) {
         String username = payload.get("username");
         String socketId = payload.get("socketId");
         
-        Optional<Bet> betOpt = betRepository.findById(Long.parseLong(betId));
+        Optional<Bet> betOpt = betRepository.findByIdWithAcceptor(Long.parseLong(betId));
         if (betOpt.isPresent()) {
             Bet bet = betOpt.get();
             
@@ -53,12 +57,13 @@ public class WebSocketEventHandler {
     public void handleShareCode(@DestinationVariable String betId, Map<String, String> payload) {
         String roomCode = payload.get("roomCode");
         
-        Optional<Bet> betOpt = betRepository.findById(Long.parseLong(betId));
+        Optional<Bet> betOpt = betRepository.findByIdWithAcceptor(Long.parseLong(betId));
         if (betOpt.isPresent()) {
             Bet bet = betOpt.get();
             bet.setGameCode(roomCode);
             bet.setStatus(BetStatus.CODE_SHARED);
             betRepository.save(bet);
+            participantRepository.updateStatus(bet.getId(), BetStatus.CODE_SHARED);
             
             Map<String, Object> response = new HashMap<>();
             response.put("type", "CODE_SHARED");
@@ -13,6 +13,8 @@ public class BetMetrics {
     private final Counter betsAcceptedCounter;
     private final Counter betsCompletedCounter;
     private final Counter betsCancelledCounter;
+    private final Counter acceptRacesLostCounter;
+    private final Counter betsExpiredCounter;
     private final Timer betCreationTimer;
     private final Timer betResolutionTimer;
 
@@ -33,6 +35,14 @@ public class BetMetrics {
                 .description("Number of bets cancelled")
                 .register(registry);
 
+        this.acceptRacesLostCounter = Counter.builder("betking.bets.accept.races.lost")
+                .description("Number of accept attempts that lost the claim to another player")
+                .register(registry);
+
+        this.betsExpiredCounter = Counter.builder("betking.bets.expired")
+                .description("Number of pending bets expired by the sweeper")
+                .register(registry);
+
         this.betCreationTimer = Timer.builder("betking.bets.creation.time")
                 .description("Time taken to create a bet")
                 .register(registry);
@@ -58,6 +68,14 @@ public class BetMetrics {
         betsCancelledCounter.increment();
     }
 
+    public void incrementAcceptRacesLost() {
+        acceptRacesLostCounter.increment();
+    }
+
+    public void incrementBetsExpired(int count) {
+        betsExpiredCounter.increment(count);
+    }
+
     public Timer getBetCreationTimer() {
         return betCreationTimer;
     }
@@ -0,0 +1,34 @@
+package com.kore.king.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.kore.king.entity.BalanceSnapshot;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    Optional<BalanceSnapshot> findFirstByUserIdOrderByLastTransactionIdDesc(Long userId);
+
+    // Rolls every account with new ledger rows up to :upToId into a fresh snapshot
+    @Modifying
+    @Query(value = "INSERT INTO balance_snapshots (user_id, available_points, held_points, last_transaction_id, created_at) " +
+                   "SELECT t.account_id, " +
+                   "       COALESCE(s.available_points, 0) + COALESCE(SUM(t.available_delta), 0), " +
+                   "       COALESCE(s.held_points, 0) + COALESCE(SUM(t.held_delta), 0), " +
+                   "       MAX(t.id), now() " +
+                   "FROM transactions t " +
+                   "LEFT JOIN (SELECT DISTINCT ON (user_id) user_id, available_points, held_points, last_transaction_id " +
+                   "           FROM balance_snapshots ORDER BY user_id, last_transaction_id DESC) s " +
+                   "       ON s.user_id = t.account_id " +
+                   "WHERE t.account_id IS NOT NULL " +
+                   "  AND t.id > COALESCE(s.last_transaction_id, 0) " +
+                   "  AND t.id <= :upToId " +
+                   "GROUP BY t.account_id, s.available_points, s.held_points", nativeQuery = true)
+    int snapshotAccountsUpTo(@Param("upToId") Long upToId);
+}
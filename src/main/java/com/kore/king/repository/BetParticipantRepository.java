@@ -0,0 +1,26 @@
+package com.kore.king.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.kore.king.entity.BetParticipant;
+import com.kore.king.entity.BetStatus;
+
+@Repository
+public interface BetParticipantRepository extends JpaRepository<BetParticipant, Long> {
+
+    boolean existsByUserIdAndStatusIn(Long userId, Collection<BetStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE BetParticipant p SET p.status = :status WHERE p.betId = :betId")
+    int updateStatus(@Param("betId") Long betId, @Param("status") BetStatus status);
+
+    @Modifying
+    @Query("UPDATE BetParticipant p SET p.status = :status WHERE p.betId IN :betIds")
+    int updateStatusForBets(@Param("betIds") Collection<Long> betIds, @Param("status") BetStatus status);
+}
@@ -1,49 +1,68 @@
 package com.kore.king.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.kore.king.dto.BetCard;
 import com.kore.king.entity.Bet;
 import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.User;
 
 @Repository
 public interface BetRepository extends JpaRepository<Bet, Long> {
     
 
 
-    @Query("SELECT b FROM Bet b WHERE b.status = :status AND (b.creator.id = :userId OR b.acceptor.id = :userId)")
+    // User-scoped lookups go through bet_participants: one (user_id, ...) index range scan
+    // instead of a BitmapOr over the creator and acceptor indexes
+    @EntityGraph(Bet.GRAPH_SETTLEMENT)
+    @Query("SELECT b FROM Bet b WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId AND p.status = :status)")
     List<Bet> findByStatusAndUserId(@Param("status") BetStatus status, 
                                    @Param("userId") Long userId);
 
-    @Query("SELECT b FROM Bet b WHERE (b.creator.id = :userId OR b.acceptor.id = :userId) AND b.status IN ('ACCEPTED', 'CODE_SHARED')")
+    @EntityGraph(Bet.GRAPH_SETTLEMENT)
+    @Query("SELECT b FROM Bet b WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId " +
+           "AND p.status IN ('ACCEPTED', 'CODE_SHARED'))")
     List<Bet> findActiveBetsByUser(@Param("userId") Long userId);
 
-    @Query("SELECT b FROM Bet b WHERE b.creator.id = :userId OR b.acceptor.id = :userId ORDER BY b.createdAt DESC")
+    @EntityGraph(Bet.GRAPH_SETTLEMENT)
+    @Query("SELECT b FROM Bet b WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId) ORDER BY b.createdAt DESC")
     Page<Bet> findUserBets(@Param("userId") Long userId, Pageable pageable);
     
 
     
     // REMOVE THE DUPLICATE: Only keep one findByStatus method
+    @EntityGraph(Bet.GRAPH_LOBBY_CARD)
     List<Bet> findByStatus(BetStatus status); // KEEP THIS ONE
+
+    @Query("SELECT b FROM Bet b JOIN FETCH b.creator WHERE b.status = :status")
+    List<Bet> findByStatusWithCreator(@Param("status") BetStatus status);
+
+    @Query("SELECT b FROM Bet b JOIN FETCH b.creator WHERE b.id IN :ids")
+    List<Bet> findByIdInWithCreator(@Param("ids") Collection<Long> ids);
     
     List<Bet> findByCreatorId(Long creatorId);
     
     List<Bet> findByAcceptorId(Long acceptorId);
     
-    @Query("SELECT b FROM Bet b WHERE b.status IN :statuses AND (b.creator.id = :userId OR b.acceptor.id = :userId)")
+    @EntityGraph(Bet.GRAPH_SETTLEMENT)
+    @Query("SELECT b FROM Bet b WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId AND p.status IN :statuses)")
     List<Bet> findByStatusInAndUserId(@Param("statuses") List<BetStatus> statuses,
                                      @Param("userId") Long userId);
     
-    @Query("SELECT COUNT(b) > 0 FROM Bet b WHERE (b.creator.id = :userId OR b.acceptor.id = :userId) " +
-           "AND b.status IN (com.kore.king.entity.BetStatus.PENDING, " +
+    @Query("SELECT COUNT(p) > 0 FROM BetParticipant p WHERE p.userId = :userId " +
+           "AND p.status IN (com.kore.king.entity.BetStatus.PENDING, " +
            "com.kore.king.entity.BetStatus.ACCEPTED, " +
            "com.kore.king.entity.BetStatus.CODE_SHARED)")
     boolean hasActiveBets(@Param("userId") Long userId);
@@ -59,13 +78,14 @@ public interface BetRepository extends JpaRepository<Bet, Long> {
     Optional<Integer> sumCompletedBetPoints();
     
 
-    @Query("SELECT b FROM Bet b WHERE b.creator.id = :userId OR b.acceptor.id = :userId ORDER BY b.createdAt DESC")
+    @EntityGraph(Bet.GRAPH_SETTLEMENT)
+    @Query("SELECT b FROM Bet b WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId) ORDER BY b.createdAt DESC")
     Page<Bet> findAllBetsForUser(@Param("userId") Long userId, Pageable pageable);
 
 @Query("SELECT b FROM Bet b " +
        "LEFT JOIN FETCH b.creator " +
        "LEFT JOIN FETCH b.acceptor " +
-       "WHERE b.creator.id = :userId OR b.acceptor.id = :userId OR b.status = 'PENDING' " +
+       "WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId) OR b.status = 'PENDING' " +
        "ORDER BY b.createdAt DESC")
 Page<Bet> findAllBetsForUserWithAvailable(@Param("userId") Long userId, Pageable pageable);
     
@@ -79,6 +99,101 @@ Page<Bet> findAllBetsForUserWithAvailable(@Param("userId") Long userId, Pageable
                                Pageable pageable);
     
     // Add this method for better performance
-    @Query("SELECT b FROM Bet b LEFT JOIN FETCH b.creator LEFT JOIN FETCH b.acceptor WHERE (b.creator.id = :userId OR b.acceptor.id = :userId) AND b.status IN ('PENDING', 'ACCEPTED', 'CODE_SHARED') ORDER BY b.createdAt DESC")
+    @Query("SELECT b FROM Bet b LEFT JOIN FETCH b.creator LEFT JOIN FETCH b.acceptor WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId " +
+           "AND p.status IN ('PENDING', 'ACCEPTED', 'CODE_SHARED')) ORDER BY b.createdAt DESC")
     List<Bet> findUserActiveBets(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // Compare-and-set claim: only one acceptor can move a bet out of PENDING
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Bet b SET b.status = com.kore.king.entity.BetStatus.ACCEPTED, b.acceptor = :acceptor, " +
+           "b.acceptedAt = CURRENT_TIMESTAMP " +
+           "WHERE b.id = :betId AND b.status = com.kore.king.entity.BetStatus.PENDING " +
+           "AND b.creator <> :acceptor")
+    int claimPendingBet(@Param("betId") Long betId, @Param("acceptor") User acceptor);
+
+    // Overdue PENDING bets, oldest first; rows locked by an in-flight accept are skipped
+    @Query(value = "SELECT b.id FROM bets b WHERE b.status = 'PENDING' AND b.expires_at < :now " +
+                   "ORDER BY b.expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOverduePendingIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Game and points of each bet, which pick the lobby cache generations a change retires
+    interface LobbySlot {
+        String getGameType();
+        Integer getPoints();
+    }
+
+    @Query("SELECT DISTINCT b.gameType AS gameType, b.points AS points FROM Bet b WHERE b.id IN :betIds")
+    List<LobbySlot> findLobbySlots(@Param("betIds") List<Long> betIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Bet b SET b.status = com.kore.king.entity.BetStatus.CANCELLED, b.cancelReason = :reason " +
+           "WHERE b.id IN :betIds AND b.status = com.kore.king.entity.BetStatus.PENDING")
+    int expirePendingBets(@Param("betIds") List<Long> betIds, @Param("reason") String reason);
+
+    // Deadline inputs for in-flight bets, without loading the entities
+    interface DeadlineView {
+        Long getId();
+        BetStatus getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getAcceptedAt();
+        LocalDateTime getCodeSharedAt();
+        LocalDateTime getResultSubmittedAt();
+    }
+
+    @Query("SELECT b.id AS id, b.status AS status, b.createdAt AS createdAt, b.acceptedAt AS acceptedAt, " +
+           "b.codeSharedAt AS codeSharedAt, b.resultSubmittedAt AS resultSubmittedAt " +
+           "FROM Bet b WHERE b.status IN :statuses")
+    List<DeadlineView> findDeadlineViews(@Param("statuses") List<BetStatus> statuses);
+
+    // NO KEY UPDATE still serializes writers but lets concurrent FK checks on bet_id (ledger inserts) through
+    @Query(value = "SELECT * FROM bets WHERE id = :betId FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Bet> findByIdForUpdate(@Param("betId") Long betId);
+
+    // Keyset pages, newest first. Each branch is one ordered, limited index scan, so a page
+    // costs the same however deep it is.
+    @Query(value = "SELECT p.bet_id FROM bet_participants p WHERE p.user_id = :userId " +
+                   "AND (p.created_at, p.bet_id) < (:createdAt, :id) " +
+                   "ORDER BY p.created_at DESC, p.bet_id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findUserBetIdsBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM (" +
+                   "(SELECT p.bet_id AS id, p.created_at FROM bet_participants p WHERE p.user_id = :userId " +
+                   "AND (p.created_at, p.bet_id) < (:createdAt, :id) ORDER BY p.created_at DESC, p.bet_id DESC LIMIT :limit) " +
+                   "UNION " +
+                   "(SELECT b.id, b.created_at FROM bets b WHERE b.status = 'PENDING' " +
+                   "AND (b.created_at, b.id) < (:createdAt, :id) ORDER BY b.created_at DESC, b.id DESC LIMIT :limit)" +
+                   ") page ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findBetIdsForUserWithAvailableBefore(@Param("userId") Long userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT b.id FROM bets b WHERE b.status = 'PENDING' AND b.creator_id <> :userId " +
+                   "AND (b.created_at, b.id) < (:createdAt, :id) ORDER BY b.created_at DESC, b.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findAvailableBetIdsBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, @Param("limit") int limit);
+
+    @Query("SELECT b FROM Bet b LEFT JOIN FETCH b.creator LEFT JOIN FETCH b.acceptor WHERE b.id IN :ids")
+    List<Bet> findAllWithParticipantsByIdIn(@Param("ids") List<Long> ids);
+
+    // Play page read models: only the columns the bet cards render, no User rows hydrated
+    String BET_CARD = "SELECT new com.kore.king.dto.BetCard(b.id, b.title, b.points, b.gameType, b.status, " +
+            "b.gameCode, b.creatorResult, b.acceptorResult, b.createdAt, c.id, c.username, a.id, a.username) " +
+            "FROM Bet b JOIN b.creator c LEFT JOIN b.acceptor a ";
+
+    @Query(value = BET_CARD +
+                   "WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId) OR b.status = 'PENDING' " +
+                   "ORDER BY b.createdAt DESC",
+           countQuery = "SELECT COUNT(b) FROM Bet b " +
+                   "WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId) OR b.status = 'PENDING'")
+    Page<BetCard> findBetCardsForUserWithAvailable(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(BET_CARD +
+           "WHERE b.id IN (SELECT p.betId FROM BetParticipant p WHERE p.userId = :userId " +
+           "AND p.status IN ('PENDING', 'ACCEPTED', 'CODE_SHARED')) ORDER BY b.createdAt DESC")
+    List<BetCard> findActiveBetCards(@Param("userId") Long userId);
+
+    @Query(BET_CARD + "WHERE b.id = :betId")
+    Optional<BetCard> findBetCard(@Param("betId") Long betId);
+}
@@ -0,0 +1,122 @@
+package com.kore.king.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.ParticipantRole;
+import com.kore.king.entity.PooledIds;
+import com.kore.king.entity.Transaction;
+
+/**
+ * Multi-row inserts for bulk paths that skip the persistence context entirely, straight through
+ * JDBC on the current transaction's connection. Ids come from the same pooled sequences Hibernate
+ * uses, either reserved here in blocks or taken from the column default.
+ */
+@Repository
+public class JdbcBatchRepository {
+
+    private static final String INSERT_BET =
+            "INSERT INTO bets (id, title, description, points, creator_id, status, game_type, created_at, expires_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (from_user_id, to_user_id, account_id, points, available_delta, held_delta, " +
+            "type, bet_id, description, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO bet_participants (user_id, bet_id, role, status, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Reserves ids in one round trip, then inserts every bet in one batch; ids are set on the given bets
+    public void insertBets(List<Bet> bets) {
+        if (bets.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = reserveIds("bets_seq", bets.size());
+        for (int i = 0; i < bets.size(); i++) {
+            bets.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_BET, bets, bets.size(), (ps, bet) -> {
+            ps.setLong(1, bet.getId());
+            ps.setString(2, bet.getTitle());
+            ps.setString(3, bet.getDescription());
+            ps.setInt(4, bet.getPoints());
+            ps.setLong(5, bet.getCreator().getId());
+            ps.setString(6, bet.getStatus().name());
+            ps.setString(7, bet.getGameType());
+            ps.setTimestamp(8, Timestamp.valueOf(bet.getCreatedAt()));
+            ps.setTimestamp(9, Timestamp.valueOf(bet.getExpiresAt()));
+        });
+    }
+
+    // pooled-lo blocks: each nextval owns [value, value + ALLOCATION_SIZE), exactly as Hibernate reads it
+    private List<Long> reserveIds(String sequence, int count) {
+        int blocks = (count + PooledIds.ALLOCATION_SIZE - 1) / PooledIds.ALLOCATION_SIZE;
+        List<Long> starts = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : starts) {
+            for (int offset = 0; offset < PooledIds.ALLOCATION_SIZE && ids.size() < count; offset++) {
+                ids.add(start + offset);
+            }
+        }
+        return ids;
+    }
+
+    public void insertCreatorParticipants(List<Bet> bets) {
+        if (bets.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PARTICIPANT, bets, bets.size(), (ps, bet) -> {
+            ps.setLong(1, bet.getCreator().getId());
+            ps.setLong(2, bet.getId());
+            ps.setString(3, ParticipantRole.CREATOR.name());
+            ps.setString(4, bet.getStatus().name());
+            ps.setTimestamp(5, Timestamp.valueOf(bet.getCreatedAt()));
+        });
+    }
+
+    public void insertTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions, transactions.size(), (ps, tx) -> {
+            setNullableLong(ps, 1, tx.getFromUser() != null ? tx.getFromUser().getId() : null);
+            setNullableLong(ps, 2, tx.getToUser() != null ? tx.getToUser().getId() : null);
+            ps.setLong(3, tx.getAccountId());
+            ps.setInt(4, tx.getPoints());
+            ps.setInt(5, tx.getAvailableDelta());
+            ps.setInt(6, tx.getHeldDelta());
+            ps.setString(7, tx.getType().name());
+            setNullableLong(ps, 8, tx.getBet() != null ? tx.getBet().getId() : null);
+            ps.setString(9, tx.getDescription());
+            ps.setTimestamp(10, Timestamp.valueOf(tx.getCreatedAt()));
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kore.king.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DDL for the monthly partitions of the transactions table. Partition names are generated here
+ * from a YearMonth, never taken from input, so they are safe to splice into statements.
+ */
+@Repository
+public class LedgerPartitionRepository {
+
+    static final String ARCHIVE_SCHEMA = "ledger_archive";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern LOWER_BOUND = Pattern.compile("FROM \\('(\\d{4}-\\d{2}-\\d{2})");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "transactions_p" + month.format(SUFFIX);
+    }
+
+    // False until V6 has run; ddl-auto alone creates a plain transactions table
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('public.transactions'))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    public boolean partitionExists(YearMonth month) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, "public." + partitionName(month));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                " PARTITION OF transactions FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                month.plusMonths(1).atDay(1) + "')");
+    }
+
+    // Attached range partitions with their bounds; the default partition has neither, the legacy
+    // partition from V6 has no lower bound (MINVALUE)
+    public List<AttachedPartition> findAttachedPartitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'transactions' ORDER BY c.relname",
+                (rs, rowNum) -> new AttachedPartition(rs.getString(1),
+                        bound(LOWER_BOUND, rs.getString(2)), bound(UPPER_BOUND, rs.getString(2))));
+    }
+
+    public Long maxId(AttachedPartition partition) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + partition.getName(), Long.class);
+    }
+
+    public Long maxIdBefore(AttachedPartition partition, LocalDate before) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + partition.getName() + " WHERE created_at < ?",
+                Long.class, before);
+    }
+
+    public LocalDate oldestDate(AttachedPartition partition) {
+        return jdbcTemplate.queryForObject("SELECT MIN(created_at)::date FROM " + partition.getName(), LocalDate.class);
+    }
+
+    // Every ledger row at or below this id is already folded into a balance snapshot
+    public Long snapshotWatermark() {
+        return jdbcTemplate.queryForObject("SELECT MAX(last_transaction_id) FROM balance_snapshots", Long.class);
+    }
+
+    // DETACH briefly locks the parent; give up rather than queue ledger writes behind a long query.
+    // Call inside a transaction so the lock timeout stays local to it.
+    public void detachAndArchive(AttachedPartition partition, String tablespace) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition.getName());
+        jdbcTemplate.execute("ALTER TABLE " + partition.getName() + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        if (tablespace != null && !tablespace.isBlank()) {
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_SCHEMA + "." + partition.getName() +
+                    " SET TABLESPACE " + quoteIdentifier(tablespace));
+        }
+    }
+
+    // Moves one month out of a partition that spans several into its own archive table, so the
+    // MINVALUE legacy partition is archived month by month instead of all at once. Only row locks
+    // are taken; the partition stays attached. Call inside a transaction.
+    public void archiveMonth(AttachedPartition partition, YearMonth month, String tablespace) {
+        String archive = ARCHIVE_SCHEMA + "." + partitionName(month);
+        jdbcTemplate.execute("CREATE TABLE " + archive + " (LIKE transactions)");
+        jdbcTemplate.update("INSERT INTO " + archive + " SELECT * FROM " + partition.getName() +
+                " WHERE created_at < ?", month.plusMonths(1).atDay(1));
+        jdbcTemplate.update("DELETE FROM " + partition.getName() + " WHERE created_at < ?",
+                month.plusMonths(1).atDay(1));
+        if (tablespace != null && !tablespace.isBlank()) {
+            jdbcTemplate.execute("ALTER TABLE " + archive + " SET TABLESPACE " + quoteIdentifier(tablespace));
+        }
+    }
+
+    private static LocalDate bound(Pattern pattern, String boundExpression) {
+        Matcher matcher = pattern.matcher(boundExpression);
+        return matcher.find() ? LocalDate.parse(matcher.group(1)) : null;
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    public static final class AttachedPartition {
+        private final String name;
+        private final LocalDate lowerBound;
+        private final LocalDate upperBound;
+
+        public AttachedPartition(String name, LocalDate lowerBound, LocalDate upperBound) {
+            this.name = name;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        public String getName() { return name; }
+        public LocalDate getLowerBound() { return lowerBound; }
+        public LocalDate getUpperBound() { return upperBound; }
+    }
+}
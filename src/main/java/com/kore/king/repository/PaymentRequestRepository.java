@@ -1,10 +1,14 @@
 package com.kore.king.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.kore.king.dto.DailyAmount;
 import com.kore.king.entity.PaymentRequest;
 import com.kore.king.entity.PaymentStatus;
 
@@ -14,4 +18,10 @@ public interface PaymentRequestRepository extends JpaRepository<PaymentRequest,
     List<PaymentRequest> findByStatusOrderByCreatedAtDesc(PaymentStatus status);
     List<PaymentRequest> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, PaymentStatus status);
     long countByStatus(PaymentStatus status);
-}
\ No newline at end of file
+
+    // Amounts summed in the database per status and calendar day; nothing is loaded into the heap
+    @Query("SELECT new com.kore.king.dto.DailyAmount(p.status, CAST(p.createdAt AS LocalDate), SUM(p.amount), COUNT(p)) " +
+           "FROM PaymentRequest p WHERE p.createdAt >= :since " +
+           "GROUP BY p.status, CAST(p.createdAt AS LocalDate) ORDER BY CAST(p.createdAt AS LocalDate)")
+    List<DailyAmount> sumAmountByStatusAndDay(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,45 @@
+package com.kore.king.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads platform_counters and platform_amounts, which database triggers keep current (V7, V8).
+ * Each counter is spread over a few stripe rows, so a value is the sum of its stripes.
+ */
+@Repository
+public class PlatformCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlatformCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Counters that have never been written are reported as zero
+    public Map<String, Long> sumByName(Collection<String> names) {
+        Map<String, Long> values = new HashMap<>();
+        names.forEach(name -> values.put(name, 0L));
+
+        jdbcTemplate.query("SELECT name, SUM(value) FROM platform_counters WHERE name = ANY (?) GROUP BY name",
+                (RowCallbackHandler) rs -> values.put(rs.getString(1), rs.getLong(2)),
+                (Object) names.toArray(new String[0]));
+        return values;
+    }
+
+    public Map<String, BigDecimal> sumAmountsByName(Collection<String> names) {
+        Map<String, BigDecimal> values = new HashMap<>();
+        names.forEach(name -> values.put(name, BigDecimal.ZERO));
+
+        jdbcTemplate.query("SELECT name, SUM(amount) FROM platform_amounts WHERE name = ANY (?) GROUP BY name",
+                (RowCallbackHandler) rs -> values.put(rs.getString(1), rs.getBigDecimal(2)),
+                (Object) names.toArray(new String[0]));
+        return values;
+    }
+}
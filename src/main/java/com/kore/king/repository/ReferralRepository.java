@@ -2,15 +2,39 @@ package com.kore.king.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kore.king.entity.Referral;
 import com.kore.king.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ReferralRepository extends JpaRepository<Referral, Long> {
+    // Referrals change rarely; the addReferredWin bulk update below invalidates these results
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Referral> findByReferred(User referred);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Referral> findByReferredAndIsActive(User referred, boolean isActive);
     long countByReferrerAndIsActive(User referrer, boolean isActive);
+
+    @Query("SELECT r.id AS referralId, r.referrer.id AS referrerId FROM Referral r " +
+           "WHERE r.referred.id = :referredId AND r.isActive = true")
+    Optional<ActiveReferralView> findActiveByReferredId(@Param("referredId") Long referredId);
+
+    interface ActiveReferralView {
+        Long getReferralId();
+        Long getReferrerId();
+    }
+
+    @Modifying
+    @Query("UPDATE Referral r SET r.totalCommissionEarned = r.totalCommissionEarned + :commission, " +
+           "r.totalReferredWins = r.totalReferredWins + 1 WHERE r.id = :referralId")
+    int addReferredWin(@Param("referralId") Long referralId, @Param("commission") double commission);
 }
\ No newline at end of file
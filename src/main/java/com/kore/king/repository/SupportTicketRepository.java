@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,19 +17,24 @@ import com.kore.king.entity.TicketStatus;
 @Repository
 public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> {
     
+    @EntityGraph(SupportTicket.GRAPH_ADMIN)
     Page<SupportTicket> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
     
+    @EntityGraph(SupportTicket.GRAPH_ADMIN)
     Page<SupportTicket> findAllByOrderByUpdatedAtDesc(Pageable pageable);
     
+    @EntityGraph(SupportTicket.GRAPH_ADMIN)
     Page<SupportTicket> findByStatusOrderByUpdatedAtDesc(TicketStatus status, Pageable pageable);
     
-    @Query("SELECT t FROM SupportTicket t LEFT JOIN FETCH t.messages WHERE t.id = :ticketId")
+    @EntityGraph(SupportTicket.GRAPH_DETAIL)
+    @Query("SELECT t FROM SupportTicket t WHERE t.id = :ticketId")
     Optional<SupportTicket> findByIdWithMessages(@Param("ticketId") Long ticketId);
     
     long countByStatusIn(List<TicketStatus> statuses);
     
     long countByUserIdAndStatusIn(Long userId, List<TicketStatus> statuses);
     
+    @EntityGraph(SupportTicket.GRAPH_ADMIN)
     @Query("SELECT t FROM SupportTicket t WHERE " +
            "LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))")
@@ -1,8 +1,11 @@
 package com.kore.king.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,10 +16,46 @@ import com.kore.king.entity.User;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
+    @EntityGraph(Transaction.GRAPH_HISTORY)
     List<Transaction> findByFromUserOrToUserOrderByCreatedAtDesc(User fromUser, User toUser);
     
-    @Query("SELECT t FROM Transaction t WHERE t.fromUser.id = :userId OR t.toUser.id = :userId ORDER BY t.createdAt DESC")
-    List<Transaction> findUserTransactions(@Param("userId") Long userId);
+    // History rows render the bet and both users; fetch them with the page instead of one select per row.
+    // The createdAt bound lets the planner prune to the monthly partitions in range.
+    @EntityGraph(Transaction.GRAPH_HISTORY)
+    @Query("SELECT t FROM Transaction t WHERE (t.fromUser.id = :userId OR t.toUser.id = :userId) " +
+           "AND t.createdAt >= :since ORDER BY t.createdAt DESC")
+    List<Transaction> findUserTransactions(@Param("userId") Long userId, @Param("since") LocalDateTime since);
     
+    @EntityGraph(Transaction.GRAPH_HISTORY)
     List<Transaction> findByBetIdOrderByCreatedAtDesc(Long betId);
-}
\ No newline at end of file
+
+    // Ledger queries
+    interface LedgerTotals {
+        Long getAvailable();
+        Long getHeld();
+    }
+
+    @Query(value = "SELECT COALESCE(SUM(available_delta), 0) AS available, COALESCE(SUM(held_delta), 0) AS held " +
+                   "FROM transactions WHERE account_id = :userId AND id > :afterId", nativeQuery = true)
+    LedgerTotals sumLedgerAfter(@Param("userId") Long userId, @Param("afterId") Long afterId);
+
+    // Transaction-scoped advisory lock that serializes balance changes for one account
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:userId)) AS account_lock", nativeQuery = true)
+    long lockAccount(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.createdAt < :cutoff")
+    Long findMaxIdCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // The accounts an expiry sweep refunds, so their cached balances can be evicted
+    @Query("SELECT DISTINCT b.creator.id FROM Bet b WHERE b.id IN :betIds")
+    List<Long> findCreatorIds(@Param("betIds") List<Long> betIds);
+
+    // One REFUND row per expired bet moves the creator's stake from held back to available
+    @Modifying
+    @Query(value = "INSERT INTO transactions (to_user_id, account_id, points, available_delta, held_delta, " +
+                   "type, bet_id, description, created_at) " +
+                   "SELECT b.creator_id, b.creator_id, b.points, b.points, -b.points, 'REFUND', b.id, " +
+                   "'Bet expired: ' || COALESCE(b.title, ''), :now FROM bets b WHERE b.id IN (:betIds)",
+           nativeQuery = true)
+    int insertExpiryRefunds(@Param("betIds") List<Long> betIds, @Param("now") LocalDateTime now);
+}
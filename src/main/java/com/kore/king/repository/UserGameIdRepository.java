@@ -3,23 +3,32 @@ package com.kore.king.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.kore.king.entity.User;
 import com.kore.king.entity.UserGameId;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserGameIdRepository extends JpaRepository<UserGameId, Long> {
     
+    // Per-user lookups go through the query cache; any write to user_game_ids invalidates them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UserGameId> findByUser(User user);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UserGameId> findByUserOrderByIsDefaultDescGameNameAsc(User user);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserGameId> findByUserAndIsDefault(User user, boolean isDefault);
     
     Optional<UserGameId> findByIdAndUser(Long id, User user);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserGameId> findFirstByUser(User user);
     
     boolean existsByUserAndGameNameAndGameId(User user, String gameName, String gameId);
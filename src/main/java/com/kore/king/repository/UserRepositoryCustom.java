@@ -0,0 +1,11 @@
+package com.kore.king.repository;
+
+import java.util.Optional;
+
+import com.kore.king.entity.User;
+
+public interface UserRepositoryCustom {
+
+    // Natural-id lookup: served from the users-by-username and users cache regions when warm
+    Optional<User> loadByUsername(String username);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.kore.king.dto.DailyAmount;
 import com.kore.king.entity.WithdrawalRequest;
 import com.kore.king.entity.WithdrawalStatus;
 
@@ -35,4 +36,10 @@ public interface WithdrawalRequestRepository extends JpaRepository<WithdrawalReq
     }
 
     long countByStatus(WithdrawalStatus status);
-}
\ No newline at end of file
+
+    // Same (status, day) buckets as the payment side
+    @Query("SELECT new com.kore.king.dto.DailyAmount(w.status, CAST(w.createdAt AS LocalDate), SUM(w.amount), COUNT(w)) " +
+           "FROM WithdrawalRequest w WHERE w.createdAt >= :since " +
+           "GROUP BY w.status, CAST(w.createdAt AS LocalDate) ORDER BY CAST(w.createdAt AS LocalDate)")
+    List<DailyAmount> sumAmountByStatusAndDay(@Param("since") LocalDateTime since);
+}
@@ -2,35 +2,43 @@ package com.kore.king.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
+import com.kore.king.dto.DailyAmount;
 import com.kore.king.entity.BetStatus;
 import com.kore.king.entity.PaymentStatus;
 import com.kore.king.entity.WithdrawalStatus;
-import com.kore.king.repository.BetRepository;
 import com.kore.king.repository.PaymentRequestRepository;
-import com.kore.king.repository.UserRepository;
+import com.kore.king.repository.PlatformCounterRepository;
 import com.kore.king.repository.WithdrawalRequestRepository;
 
+@Workload(WorkloadClass.REPORTING)
 @Service
+@Transactional(readOnly = true)
 public class AdminStatsService {
 
-    private final UserRepository userRepository;
-    private final BetRepository betRepository;
+    private static final List<BetStatus> ACTIVE_BET_STATUSES =
+            List.of(BetStatus.PENDING, BetStatus.ACCEPTED, BetStatus.CODE_SHARED);
+
+    private final PlatformCounterRepository counterRepository;
     private final PaymentRequestRepository paymentRequestRepository;
     private final WithdrawalRequestRepository withdrawalRequestRepository;
     private final SupportService supportService;
 
-    public AdminStatsService(UserRepository userRepository,
-                           BetRepository betRepository,
+    public AdminStatsService(PlatformCounterRepository counterRepository,
                            PaymentRequestRepository paymentRequestRepository,
                            WithdrawalRequestRepository withdrawalRequestRepository,
                            SupportService supportService) {
-        this.userRepository = userRepository;
-        this.betRepository = betRepository;
+        this.counterRepository = counterRepository;
         this.paymentRequestRepository = paymentRequestRepository;
         this.withdrawalRequestRepository = withdrawalRequestRepository;
         this.supportService = supportService;
@@ -38,25 +46,43 @@ public class AdminStatsService {
 
     public Map<String, Object> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        // All counts come from trigger-maintained counters in one small read
+        List<String> names = new ArrayList<>(List.of(
+                PlatformCounters.USERS_TOTAL,
+                PlatformCounters.usersRegisteredOn(today),
+                PlatformCounters.BETS_TOTAL,
+                PlatformCounters.bets(BetStatus.COMPLETED),
+                PlatformCounters.bets(BetStatus.DISPUTED),
+                PlatformCounters.payments(PaymentStatus.PENDING),
+                PlatformCounters.withdrawals(WithdrawalStatus.PENDING)));
+        ACTIVE_BET_STATUSES.forEach(status -> names.add(PlatformCounters.bets(status)));
+        Map<String, Long> counters = counterRepository.sumByName(names);
 
         // User Statistics
-        stats.put("totalUsers", userRepository.count());
-        stats.put("todayRegistrations", userRepository.countByCreatedAtAfter(LocalDate.now().atStartOfDay()));
+        stats.put("totalUsers", counters.get(PlatformCounters.USERS_TOTAL));
+        stats.put("todayRegistrations", counters.get(PlatformCounters.usersRegisteredOn(today)));
 
         // Bet Statistics
-        stats.put("totalBets", betRepository.count());
-        stats.put("activeBets", betRepository.countByStatusIn(
-            java.util.List.of(BetStatus.PENDING, BetStatus.ACCEPTED, BetStatus.CODE_SHARED)));
-        stats.put("completedBets", betRepository.countByStatus(BetStatus.COMPLETED));
-        stats.put("disputedBets", betRepository.countByStatus(BetStatus.DISPUTED));
+        stats.put("totalBets", counters.get(PlatformCounters.BETS_TOTAL));
+        stats.put("activeBets", ACTIVE_BET_STATUSES.stream()
+                .mapToLong(status -> counters.get(PlatformCounters.bets(status)))
+                .sum());
+        stats.put("completedBets", counters.get(PlatformCounters.bets(BetStatus.COMPLETED)));
+        stats.put("disputedBets", counters.get(PlatformCounters.bets(BetStatus.DISPUTED)));
+
+        // Running amount totals, moved between statuses on approve and reject
+        Map<String, BigDecimal> amounts = counterRepository.sumAmountsByName(
+                List.of(PlatformCounters.PAYMENTS_AMOUNT, PlatformCounters.WITHDRAWALS_AMOUNT));
 
         // Payment Statistics
-        stats.put("pendingPayments", paymentRequestRepository.countByStatus(PaymentStatus.PENDING));
-        stats.put("totalPaymentAmount", calculateTotalPaymentAmount());
+        stats.put("pendingPayments", counters.get(PlatformCounters.payments(PaymentStatus.PENDING)));
+        stats.put("totalPaymentAmount", amounts.get(PlatformCounters.PAYMENTS_AMOUNT));
 
         // Withdrawal Statistics
-        stats.put("pendingWithdrawals", withdrawalRequestRepository.countByStatus(WithdrawalStatus.PENDING));
-        stats.put("totalWithdrawalAmount", calculateTotalWithdrawalAmount());
+        stats.put("pendingWithdrawals", counters.get(PlatformCounters.withdrawals(WithdrawalStatus.PENDING)));
+        stats.put("totalWithdrawalAmount", amounts.get(PlatformCounters.WITHDRAWALS_AMOUNT));
 
         // Support Statistics
         stats.put("openTickets", supportService.getOpenTicketCount());
@@ -67,18 +93,6 @@ public class AdminStatsService {
         return stats;
     }
 
-    private BigDecimal calculateTotalPaymentAmount() {
-        return paymentRequestRepository.findAll().stream()
-                .map(request -> request.getAmount() != null ? request.getAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private BigDecimal calculateTotalWithdrawalAmount() {
-        return withdrawalRequestRepository.findAll().stream()
-                .map(request -> request.getAmount() != null ? request.getAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     private BigDecimal calculatePlatformRevenue() {
         // This would need to be calculated from transaction records
         // For now, return a placeholder
@@ -90,14 +104,33 @@ public class AdminStatsService {
         LocalDate today = LocalDate.now();
         LocalDate weekAgo = today.minusDays(7);
 
+        // One daily counter per day since weekAgo, today included
+        List<String> registrationDays = new ArrayList<>();
+        List<String> betDays = new ArrayList<>();
+        for (LocalDate day = weekAgo; !day.isAfter(today); day = day.plusDays(1)) {
+            registrationDays.add(PlatformCounters.usersRegisteredOn(day));
+            betDays.add(PlatformCounters.betsCreatedOn(day));
+        }
+        List<String> names = new ArrayList<>(registrationDays);
+        names.addAll(betDays);
+        Map<String, Long> counters = counterRepository.sumByName(names);
+
         // Recent registrations
-        activity.put("registrationsLast7Days", 
-            userRepository.countByCreatedAtAfter(weekAgo.atStartOfDay()));
+        activity.put("registrationsLast7Days", registrationDays.stream().mapToLong(counters::get).sum());
 
         // Recent bets
-        activity.put("betsLast7Days", 
-            betRepository.countByCreatedAtAfter(weekAgo.atStartOfDay()));
+        activity.put("betsLast7Days", betDays.stream().mapToLong(counters::get).sum());
 
         return activity;
     }
-}
\ No newline at end of file
+
+    // Per status and day amounts since the given number of days ago, today included
+    public Map<String, List<DailyAmount>> getDailyAmounts(int days) {
+        LocalDateTime since = LocalDate.now().minusDays(days).atStartOfDay();
+
+        Map<String, List<DailyAmount>> amounts = new HashMap<>();
+        amounts.put("payments", paymentRequestRepository.sumAmountByStatusAndDay(since));
+        amounts.put("withdrawals", withdrawalRequestRepository.sumAmountByStatusAndDay(since));
+        return amounts;
+    }
+}
@@ -3,6 +3,7 @@ package com.kore.king.service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.kore.king.dto.BatchBetResult;
 import com.kore.king.dto.CreateBetRequest;
 
 @Service
@@ -56,19 +58,16 @@ public class AsyncBetService {
     }
 
     @Async("taskExecutor")
-    public void processBatchBetCreation(List<CreateBetRequest> betRequests, Long creatorId) {
+    public CompletableFuture<List<BatchBetResult>> processBatchBetCreation(List<CreateBetRequest> betRequests, Long creatorId) {
         logger.info("Processing batch creation of {} bets for user ID: {}", betRequests.size(), creatorId);
         
-        for (CreateBetRequest request : betRequests) {
-            try {
-                betService.createBet(creatorId, request.getPoints(), request.getGameType(), 
-                                   request.getTitle(), request.getDescription());
-                Thread.sleep(100); // Rate limiting
-            } catch (Exception e) {
-                logger.error("Failed to create bet in batch: {}", request.getTitle(), e);
-            }
-        }
+        List<BatchBetResult> results = betService.createBets(creatorId, betRequests);
         
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        if (failed > 0) {
+            logger.warn("Batch creation for user ID {} rejected {} of {} bets", creatorId, failed, betRequests.size());
+        }
         logger.info("Completed batch creation of {} bets", betRequests.size());
+        return CompletableFuture.completedFuture(results);
     }
 }
\ No newline at end of file
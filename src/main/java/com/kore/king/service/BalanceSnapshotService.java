@@ -0,0 +1,49 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kore.king.config.Workload;
+import com.kore.king.config.WorkloadClass;
+import com.kore.king.repository.BalanceSnapshotRepository;
+import com.kore.king.repository.TransactionRepository;
+
+@Workload(WorkloadClass.REPORTING)
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionRepository transactionRepository;
+
+    // Ledger rows younger than this are left in the tail so in-flight transactions cannot be skipped
+    @Value("${app.ledger.snapshot-lag-seconds:300}")
+    private long snapshotLagSeconds;
+
+    public BalanceSnapshotService(BalanceSnapshotRepository balanceSnapshotRepository,
+                                  TransactionRepository transactionRepository) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.snapshot-interval-ms:300000}")
+    @Transactional
+    public void snapshotBalances() {
+        Long upToId = transactionRepository.findMaxIdCreatedBefore(LocalDateTime.now().minusSeconds(snapshotLagSeconds));
+        if (upToId == null) {
+            return;
+        }
+
+        int accounts = balanceSnapshotRepository.snapshotAccountsUpTo(upToId);
+        if (accounts > 0) {
+            logger.info("Snapshotted balances for {} accounts up to ledger entry {}", accounts, upToId);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.repository.BetRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory deadlines for in-flight bets, held in a timing wheel instead of polled from the
+ * bets table. BetService registers a deadline on every state transition; the wheel is rebuilt
+ * from the database on startup and drained by BetDeadlineService.
+ */
+@Component
+public class BetDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetDeadlineScheduler.class);
+
+    static final List<BetStatus> TIMED_STATUSES =
+            List.of(BetStatus.ACCEPTED, BetStatus.CODE_SHARED, BetStatus.RESULTS_SUBMITTED);
+
+    private final BetRepository betRepository;
+    private final TimingWheel<Long> wheel;
+
+    // Creator must share the game code this long after the bet is accepted
+    @Value("${app.bets.deadlines.code-share-minutes:15}")
+    private long codeShareMinutes = 15;
+
+    // Players must report a result this long after the code is shared
+    @Value("${app.bets.deadlines.result-minutes:120}")
+    private long resultMinutes = 120;
+
+    // Once one result is in, the opponent has this long to answer
+    @Value("${app.bets.deadlines.opponent-result-minutes:30}")
+    private long opponentResultMinutes = 30;
+
+    public BetDeadlineScheduler(BetRepository betRepository, MeterRegistry registry,
+                                @Value("${app.bets.deadlines.tick-ms:1000}") long tickMillis) {
+        this.betRepository = betRepository;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        Gauge.builder("betking.bets.deadlines.pending", this, BetDeadlineScheduler::pendingCount)
+                .description("Bet deadlines currently held in the timing wheel")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<BetRepository.DeadlineView> inFlight = betRepository.findDeadlineViews(TIMED_STATUSES);
+        for (BetRepository.DeadlineView view : inFlight) {
+            LocalDateTime deadline = deadlineFor(view.getStatus(), view.getCreatedAt(), view.getAcceptedAt(),
+                    view.getCodeSharedAt(), view.getResultSubmittedAt());
+            if (deadline != null) {
+                put(view.getId(), deadline);
+            }
+        }
+        logger.info("Deadline wheel rebuilt with {} in-flight bets", inFlight.size());
+    }
+
+    public LocalDateTime deadlineFor(Bet bet) {
+        return deadlineFor(bet.getStatus(), bet.getCreatedAt(), bet.getAcceptedAt(),
+                bet.getCodeSharedAt(), bet.getResultSubmittedAt());
+    }
+
+    // Registration takes effect after the surrounding transaction commits
+    public void schedule(Bet bet) {
+        Long betId = bet.getId();
+        LocalDateTime deadline = deadlineFor(bet);
+        afterCommit(() -> {
+            if (deadline == null) {
+                remove(betId);
+            } else {
+                put(betId, deadline);
+            }
+        });
+    }
+
+    public void cancel(Long betId) {
+        afterCommit(() -> remove(betId));
+    }
+
+    public void retryAt(Long betId, LocalDateTime when) {
+        put(betId, when);
+    }
+
+    public synchronized List<Long> pollExpired() {
+        return wheel.advance(System.currentTimeMillis());
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    private LocalDateTime deadlineFor(BetStatus status, LocalDateTime createdAt, LocalDateTime acceptedAt,
+                                      LocalDateTime codeSharedAt, LocalDateTime resultSubmittedAt) {
+        // Rows from before these timestamps existed fall back to the previous milestone
+        LocalDateTime accepted = acceptedAt != null ? acceptedAt : createdAt;
+        LocalDateTime shared = codeSharedAt != null ? codeSharedAt : accepted;
+        LocalDateTime submitted = resultSubmittedAt != null ? resultSubmittedAt : shared;
+
+        if (status == null || accepted == null) {
+            return null;
+        }
+        switch (status) {
+            case ACCEPTED:
+                return accepted.plusMinutes(codeShareMinutes);
+            case CODE_SHARED:
+                return shared.plusMinutes(resultMinutes);
+            case RESULTS_SUBMITTED:
+                return submitted.plusMinutes(opponentResultMinutes);
+            default:
+                return null;
+        }
+    }
+
+    private synchronized void put(Long betId, LocalDateTime deadline) {
+        wheel.schedule(betId, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private synchronized void remove(Long betId) {
+        wheel.cancel(betId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
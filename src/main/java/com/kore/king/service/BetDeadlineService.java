@@ -0,0 +1,41 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BetDeadlineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetDeadlineService.class);
+
+    private final BetDeadlineScheduler deadlineScheduler;
+    private final BetService betService;
+
+    @Value("${app.bets.deadlines.retry-seconds:30}")
+    private long retrySeconds = 30;
+
+    public BetDeadlineService(BetDeadlineScheduler deadlineScheduler, BetService betService) {
+        this.deadlineScheduler = deadlineScheduler;
+        this.betService = betService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bets.deadlines.tick-ms:1000}")
+    public void enforceExpiredDeadlines() {
+        List<Long> expired = deadlineScheduler.pollExpired();
+        for (Long betId : expired) {
+            try {
+                betService.enforceDeadline(betId);
+            } catch (Exception e) {
+                logger.warn("Failed to enforce deadline for bet {}, retrying in {}s: {}",
+                        betId, retrySeconds, e.getMessage());
+                deadlineScheduler.retryAt(betId, LocalDateTime.now().plusSeconds(retrySeconds));
+            }
+        }
+    }
+}
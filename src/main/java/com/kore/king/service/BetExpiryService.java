@@ -0,0 +1,127 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kore.king.config.CacheGenerations;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.metrics.BetMetrics;
+import com.kore.king.repository.BetParticipantRepository;
+import com.kore.king.repository.BetRepository;
+import com.kore.king.repository.BetRepository.LobbySlot;
+
+/**
+ * Cancels PENDING bets whose expiresAt has passed. Each chunk is one short transaction:
+ * lock the overdue ids, flip them with a single UPDATE and refund every creator with a single
+ * INSERT ... SELECT into the ledger. The lobby hears about the whole sweep in one message.
+ */
+@Service
+public class BetExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetExpiryService.class);
+
+    static final String EXPIRED_REASON = "Expired: not accepted in time";
+
+    private final BetRepository betRepository;
+    private final BetParticipantRepository participantRepository;
+    private final TransactionService transactionService;
+    private final BetLobbyIndex lobbyIndex;
+    private final BroadcastOutbox outbox;
+    private final CacheGenerations cacheGenerations;
+    private final BetMetrics betMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.bets.expiry.chunk-size:500}")
+    private int chunkSize = 500;
+
+    // Bounds a single run so a large backlog cannot monopolize the scheduler thread
+    @Value("${app.bets.expiry.max-chunks-per-run:20}")
+    private int maxChunksPerRun = 20;
+
+    public BetExpiryService(BetRepository betRepository,
+                            BetParticipantRepository participantRepository,
+                            TransactionService transactionService,
+                            BetLobbyIndex lobbyIndex,
+                            BroadcastOutbox outbox,
+                            CacheGenerations cacheGenerations,
+                            BetMetrics betMetrics,
+                            PlatformTransactionManager transactionManager) {
+        this.betRepository = betRepository;
+        this.participantRepository = participantRepository;
+        this.transactionService = transactionService;
+        this.lobbyIndex = lobbyIndex;
+        this.outbox = outbox;
+        this.cacheGenerations = cacheGenerations;
+        this.betMetrics = betMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.bets.expiry.interval-ms:60000}")
+    public void expireOverdueBets() {
+        List<Long> expired = new ArrayList<>();
+        Set<String> changedGenerations = new LinkedHashSet<>();
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> ids = transactionTemplate.execute(
+                    status -> expireChunk(LocalDateTime.now(), changedGenerations));
+            expired.addAll(ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // Only PENDING and CANCELLED pages change, and only the lobby slots of the expired bets
+        changedGenerations.add(CachedBetService.availableBetsGeneration(BetStatus.PENDING));
+        changedGenerations.add(CachedBetService.availableBetsGeneration(BetStatus.CANCELLED));
+        changedGenerations.forEach(cacheGenerations::advance);
+        betMetrics.incrementBetsExpired(expired.size());
+        broadcastBetsExpired(expired);
+        logger.info("Expired {} pending bets", expired.size());
+    }
+
+    private List<Long> expireChunk(LocalDateTime now, Set<String> changedGenerations) {
+        List<Long> ids = betRepository.lockOverduePendingIds(now, chunkSize);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        for (LobbySlot slot : betRepository.findLobbySlots(ids)) {
+            changedGenerations.addAll(
+                    CachedBetService.availableBetsGenerations(BetStatus.PENDING, slot.getGameType(), slot.getPoints()));
+        }
+
+        // The ids are row-locked, so every one of them is still PENDING here
+        betRepository.expirePendingBets(ids, EXPIRED_REASON);
+        participantRepository.updateStatusForBets(ids, BetStatus.CANCELLED);
+        transactionService.recordExpiryRefunds(ids, now);
+        lobbyIndex.removeAll(ids);
+        return ids;
+    }
+
+    private void broadcastBetsExpired(List<Long> betIds) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "BETS_EXPIRED");
+        message.put("betIds", betIds);
+        message.put("timestamp", System.currentTimeMillis());
+
+        outbox.send("/topic/bets/all", message);
+    }
+}
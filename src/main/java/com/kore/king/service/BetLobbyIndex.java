@@ -0,0 +1,393 @@
+package com.kore.king.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kore.king.config.CacheInvalidations;
+import com.kore.king.dto.BetCursor;
+import com.kore.king.dto.LobbyBet;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.repository.BetRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process index of PENDING bets, keyed by game type and points bucket.
+ * Rebuilt from the database on startup and kept current by BetService after each commit,
+ * so lobby reads never touch the connection pool.
+ * <p>
+ * Each node holds its own copy. With Redis configured, every change is announced by bet id on
+ * the cache invalidation channel and the other nodes re-read those bets. Pub/sub can drop a
+ * message, so those nodes also resync against the database every few minutes; without Redis
+ * the index assumes a single node.
+ */
+@Component
+public class BetLobbyIndex implements CacheInvalidations.Subscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetLobbyIndex.class);
+
+    static final int POINTS_BUCKET_SIZE = 100;
+
+    static final String INVALIDATION_NAME = "lobbyIndex";
+    // Keeps one announcement (and the IN list it becomes on the other nodes) bounded
+    static final int MAX_IDS_PER_MESSAGE = 500;
+
+    private static final Comparator<LobbyBet> NEWEST_FIRST = Comparator
+            .comparing(LobbyBet::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(LobbyBet::getId, Comparator.reverseOrder());
+
+    private final BetRepository betRepository;
+    // Null without Redis
+    private final CacheInvalidations invalidations;
+    // Announced refreshes query the database, so they run here rather than on the pub/sub
+    // listener thread that every cache's invalidations share
+    private final Executor refreshExecutor;
+
+    private final Map<Long, LobbyBet> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<LobbyBet> newestFirst = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<String, NavigableMap<Integer, NavigableSet<LobbyBet>>> byGameAndBucket = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> countByCreator = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    private final Object reconcileLock = new Object();
+    private final Set<Long> writtenMeanwhile = ConcurrentHashMap.newKeySet();
+    private volatile boolean reconciling = false;
+
+    @Autowired
+    public BetLobbyIndex(BetRepository betRepository, MeterRegistry registry,
+                         ObjectProvider<CacheInvalidations> invalidations) {
+        this(betRepository, registry, invalidations, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "betking-lobby-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    BetLobbyIndex(BetRepository betRepository, MeterRegistry registry,
+                  ObjectProvider<CacheInvalidations> invalidations, Executor refreshExecutor) {
+        this.betRepository = betRepository;
+        this.invalidations = invalidations.getIfAvailable();
+        this.refreshExecutor = refreshExecutor;
+
+        Gauge.builder("betking.lobby.index.size", byId, Map::size)
+                .description("Number of pending bets held in the lobby index")
+                .register(registry);
+        if (this.invalidations != null) {
+            this.invalidations.register(INVALIDATION_NAME, this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        List<Bet> pending = betRepository.findByStatusWithCreator(BetStatus.PENDING);
+
+        byId.clear();
+        newestFirst.clear();
+        byGameAndBucket.clear();
+        countByCreator.clear();
+        pending.forEach(bet -> put(LobbyBet.from(bet)));
+
+        ready = true;
+        logger.info("Lobby index rebuilt with {} pending bets", byId.size());
+    }
+
+    // Catches up on announcements this node missed; only needed when there are other nodes
+    @Scheduled(initialDelayString = "${app.lobby.index.resync-ms:300000}",
+               fixedDelayString = "${app.lobby.index.resync-ms:300000}")
+    public void scheduledResync() {
+        if (invalidations != null && ready) {
+            resync();
+        }
+    }
+
+    // Unlike rebuild(), updates in place, so readers never see a half-filled index
+    void resync() {
+        reconcile(null, () -> betRepository.findByStatusWithCreator(BetStatus.PENDING));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Index writes are deferred until the surrounding transaction commits
+    public void add(Bet bet) {
+        LobbyBet entry = LobbyBet.from(bet);
+        afterCommit(() -> {
+            writtenLocally(entry.getId());
+            put(entry);
+            announce(List.of(entry.getId()));
+        });
+    }
+
+    public void addAll(Collection<Bet> bets) {
+        List<LobbyBet> entries = bets.stream().map(LobbyBet::from).toList();
+        List<Long> ids = entries.stream().map(LobbyBet::getId).toList();
+        afterCommit(() -> {
+            ids.forEach(this::writtenLocally);
+            entries.forEach(this::put);
+            announce(ids);
+        });
+    }
+
+    public void remove(Long betId) {
+        afterCommit(() -> {
+            writtenLocally(betId);
+            evict(betId);
+            announce(List.of(betId));
+        });
+    }
+
+    public void removeAll(Collection<Long> betIds) {
+        List<Long> ids = List.copyOf(betIds);
+        afterCommit(() -> {
+            ids.forEach(this::writtenLocally);
+            ids.forEach(this::evict);
+            announce(ids);
+        });
+    }
+
+    // Another node changed these bets; re-read them rather than trust the order messages arrive in
+    @Override
+    public void evictLocal(String key) {
+        refreshExecutor.execute(() -> {
+            try {
+                List<Long> ids = Arrays.stream(key.split(",")).map(Long::valueOf).toList();
+                reconcile(ids, () -> betRepository.findByIdInWithCreator(ids));
+            } catch (RuntimeException e) {
+                // Left to the next resync
+                logger.warn("Could not refresh lobby bets announced by another node: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void clearLocal() {
+        refreshExecutor.execute(this::resync);
+    }
+
+    // Brings the given bets (null: every bet) in line with the database. The query runs outside
+    // the writer lock, which after-commit writers wait on while still holding a connection; a
+    // local write that lands meanwhile is at least as new as the query, so its bet is left alone.
+    private void reconcile(Collection<Long> ids, Supplier<List<Bet>> query) {
+        synchronized (reconcileLock) {
+            writtenMeanwhile.clear();
+            reconciling = true;
+            try {
+                Map<Long, Bet> pending = query.get().stream()
+                        .filter(bet -> bet.getStatus() == BetStatus.PENDING)
+                        .collect(Collectors.toMap(Bet::getId, Function.identity()));
+                synchronized (this) {
+                    Set<Long> scope = new HashSet<>(ids != null ? ids : byId.keySet());
+                    if (ids == null) {
+                        scope.addAll(pending.keySet());
+                    }
+                    scope.removeAll(writtenMeanwhile);
+                    for (Long id : scope) {
+                        Bet bet = pending.get(id);
+                        if (bet != null) {
+                            put(LobbyBet.from(bet));
+                        } else {
+                            evict(id);
+                        }
+                    }
+                }
+            } finally {
+                reconciling = false;
+            }
+        }
+    }
+
+    // Called before the write; a reconcile that starts later reads the committed row anyway
+    private void writtenLocally(Long betId) {
+        if (reconciling) {
+            writtenMeanwhile.add(betId);
+        }
+    }
+
+    private void announce(List<Long> ids) {
+        if (invalidations == null) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_MESSAGE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_MESSAGE));
+            invalidations.evicted(INVALIDATION_NAME,
+                    chunk.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    public Page<LobbyBet> findAvailable(Long excludeUserId, Pageable pageable) {
+        int total = Math.max(0, byId.size() - pendingCountFor(excludeUserId));
+        Stream<LobbyBet> visible = newestFirst.stream().filter(notCreatedBy(excludeUserId));
+        return toPage(visible, pageable, total);
+    }
+
+    // Seek variant: entries strictly after the cursor position, newest first
+    public List<LobbyBet> findAvailableAfter(Long excludeUserId, BetCursor cursor, int limit) {
+        LobbyBet position = new LobbyBet(cursor.getId(), null, null, null, null,
+                cursor.getCreatedAt(), null, null, null);
+        return newestFirst.tailSet(position, false).stream()
+                .filter(notCreatedBy(excludeUserId))
+                .limit(limit)
+                .toList();
+    }
+
+    public Page<LobbyBet> findAvailable(Long excludeUserId, String gameType, Integer minPoints,
+                                        Integer maxPoints, Pageable pageable) {
+        if (gameType == null && minPoints == null && maxPoints == null) {
+            return findAvailable(excludeUserId, pageable);
+        }
+
+        List<LobbyBet> matching = candidates(gameType, minPoints, maxPoints)
+                .filter(notCreatedBy(excludeUserId))
+                .filter(bet -> minPoints == null || bet.getPoints() >= minPoints)
+                .filter(bet -> maxPoints == null || bet.getPoints() <= maxPoints)
+                .sorted(NEWEST_FIRST)
+                .toList();
+        return toPage(matching.stream(), pageable, matching.size());
+    }
+
+    private Stream<LobbyBet> candidates(String gameType, Integer minPoints, Integer maxPoints) {
+        Stream<NavigableMap<Integer, NavigableSet<LobbyBet>>> games = gameType == null
+                ? byGameAndBucket.values().stream()
+                : Stream.ofNullable(byGameAndBucket.get(gameType));
+
+        int fromBucket = minPoints == null ? Integer.MIN_VALUE : bucketOf(minPoints);
+        int toBucket = maxPoints == null ? Integer.MAX_VALUE : bucketOf(maxPoints);
+
+        return games
+                .flatMap(buckets -> buckets.subMap(fromBucket, true, toBucket, true).values().stream())
+                .flatMap(NavigableSet::stream);
+    }
+
+    private Page<LobbyBet> toPage(Stream<LobbyBet> ordered, Pageable pageable, long total) {
+        if (pageable.isUnpaged()) {
+            List<LobbyBet> content = ordered.toList();
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        List<LobbyBet> content = ordered
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private Predicate<LobbyBet> notCreatedBy(Long userId) {
+        return bet -> userId == null || !userId.equals(bet.getCreatorId());
+    }
+
+    private int pendingCountFor(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        AtomicInteger count = countByCreator.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    // Writers are serialized; readers only see the concurrent collections
+    private synchronized void put(LobbyBet entry) {
+        LobbyBet previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        newestFirst.add(entry);
+        byGameAndBucket
+                .computeIfAbsent(gameKey(entry.getGameType()), key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucketOf(entry.getPoints()), key -> new ConcurrentSkipListSet<>(NEWEST_FIRST))
+                .add(entry);
+        countByCreator.computeIfAbsent(entry.getCreatorId(), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private synchronized void evict(Long betId) {
+        LobbyBet previous = byId.remove(betId);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    private void unlink(LobbyBet entry) {
+        newestFirst.remove(entry);
+
+        NavigableMap<Integer, NavigableSet<LobbyBet>> buckets = byGameAndBucket.get(gameKey(entry.getGameType()));
+        if (buckets != null) {
+            NavigableSet<LobbyBet> bucket = buckets.get(bucketOf(entry.getPoints()));
+            if (bucket != null) {
+                bucket.remove(entry);
+            }
+        }
+
+        countByCreator.computeIfPresent(entry.getCreatorId(),
+                (key, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static int bucketOf(int points) {
+        return Math.floorDiv(points, POINTS_BUCKET_SIZE);
+    }
+
+    private static String gameKey(String gameType) {
+        return Objects.requireNonNullElse(gameType, "");
+    }
+}
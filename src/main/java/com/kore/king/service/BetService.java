@@ -1,27 +1,46 @@
 package com.kore.king.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.kore.king.config.AppConfig;
+import com.kore.king.config.CacheGenerations;
+import com.kore.king.dto.ActiveReferral;
+import com.kore.king.dto.BatchBetResult;
+import com.kore.king.dto.BetCard;
+import com.kore.king.dto.BetCursor;
+import com.kore.king.dto.CreateBetRequest;
+import com.kore.king.dto.CursorPage;
+import com.kore.king.dto.LobbyBet;
 import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetParticipant;
 import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.ParticipantRole;
 import com.kore.king.entity.Result;
 import com.kore.king.entity.User;
+import com.kore.king.exception.BetAlreadyAcceptedException;
+import com.kore.king.metrics.BetMetrics;
+import com.kore.king.repository.BetParticipantRepository;
 import com.kore.king.repository.BetRepository;
+import com.kore.king.repository.JdbcBatchRepository;
 import com.kore.king.repository.TransactionRepository;
 
 import jakarta.persistence.EntityManager;
@@ -35,35 +54,140 @@ public class BetService {
     private final BetRepository betRepository;
     private final UserService userService;
     private final TransactionService transactionService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastOutbox outbox;
     private final ReferralService referralService;
     private final AppConfig appConfig;
     private final TransactionRepository transactionRepository;
     private final EntityManager entityManager;
+    private final BetLobbyIndex lobbyIndex;
+    private final BetMetrics betMetrics;
+    private final BetDeadlineScheduler deadlineScheduler;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final BetParticipantRepository participantRepository;
+    private final CacheGenerations cacheGenerations;
     
     public BetService(BetRepository betRepository, UserService userService,
-                     TransactionService transactionService, SimpMessagingTemplate messagingTemplate,
+                     TransactionService transactionService, BroadcastOutbox outbox,
                      ReferralService referralService, AppConfig appConfig,
-                     TransactionRepository transactionRepository, EntityManager entityManager) {
+                     TransactionRepository transactionRepository, EntityManager entityManager,
+                     BetLobbyIndex lobbyIndex, BetMetrics betMetrics,
+                     BetDeadlineScheduler deadlineScheduler, JdbcBatchRepository jdbcBatchRepository,
+                     BetParticipantRepository participantRepository, CacheGenerations cacheGenerations) {
         this.betRepository = betRepository;
         this.userService = userService;
         this.transactionService = transactionService;
-        this.messagingTemplate = messagingTemplate;
+        this.outbox = outbox;
         this.referralService = referralService;
         this.appConfig = appConfig;
         this.transactionRepository = transactionRepository;
         this.entityManager = entityManager;
+        this.lobbyIndex = lobbyIndex;
+        this.betMetrics = betMetrics;
+        this.deadlineScheduler = deadlineScheduler;
+        this.jdbcBatchRepository = jdbcBatchRepository;
+        this.participantRepository = participantRepository;
+        this.cacheGenerations = cacheGenerations;
     }
 
-    // Basic CRUD operations
+    // Basic CRUD operations. Listings are read-only so they can be served by a read replica.
+    // Managed bets from the database; the lobby (pending bets from the index) is findLobbyBets.
+    @Transactional(readOnly = true)
     public Page<Bet> findAvailableBets(BetStatus status, Long userId, Pageable pageable) {
         return betRepository.findAvailableBets(status, userId, pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Page<LobbyBet> findLobbyBets(Long userId, String gameType, Integer minPoints,
+                                        Integer maxPoints, Pageable pageable) {
+        if (!lobbyIndex.isReady()) {
+            return betRepository.findAvailableBets(BetStatus.PENDING, userId, pageable).map(LobbyBet::from);
+        }
+        return lobbyIndex.findAvailable(userId, gameType, minPoints, maxPoints, pageable);
+    }
     
+    @Transactional(readOnly = true)
     public Page<Bet> findUserBets(Long userId, Pageable pageable) {
         return betRepository.findUserBets(userId, pageable);
     }
     
+    // Keyset listings: the cursor is the (createdAt, id) of the last row already shown
+    @Transactional(readOnly = true)
+    public CursorPage<Bet> findUserBets(Long userId, String cursor, int size) {
+        BetCursor position = BetCursor.decode(cursor);
+        List<Long> ids = betRepository.findUserBetIdsBefore(userId, position.getCreatedAt(), position.getId(), size + 1);
+        return loadPage(ids, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Bet> findAllBetsForUserWithAvailable(Long userId, String cursor, int size) {
+        BetCursor position = BetCursor.decode(cursor);
+        List<Long> ids = betRepository.findBetIdsForUserWithAvailableBefore(userId, position.getCreatedAt(),
+                position.getId(), size + 1);
+        return loadPage(ids, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<LobbyBet> findLobbyBets(Long userId, String cursor, int size) {
+        BetCursor position = BetCursor.decode(cursor);
+        if (!lobbyIndex.isReady()) {
+            List<Long> ids = betRepository.findAvailableBetIdsBefore(userId, position.getCreatedAt(),
+                    position.getId(), size + 1);
+            return loadPage(ids, size).map(LobbyBet::from);
+        }
+        List<LobbyBet> slice = lobbyIndex.findAvailableAfter(userId, position, size + 1);
+        if (slice.size() <= size) {
+            return new CursorPage<>(slice, null);
+        }
+        List<LobbyBet> content = slice.subList(0, size);
+        LobbyBet last = content.get(size - 1);
+        return new CursorPage<>(content, cursorAfter(last.getCreatedAt(), last.getId()));
+    }
+    
+    private CursorPage<Bet> loadPage(List<Long> ids, int size) {
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        // The id query fixed the order; the fetch only hydrates those rows with their players
+        Map<Long, Bet> byId = new HashMap<>();
+        for (Bet bet : betRepository.findAllWithParticipantsByIdIn(pageIds)) {
+            byId.put(bet.getId(), bet);
+        }
+        List<Bet> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Bet bet = byId.get(id);
+            if (bet != null) {
+                content.add(bet);
+            }
+        }
+        
+        Bet last = content.isEmpty() ? null : content.get(content.size() - 1);
+        String next = hasNext && last != null ? cursorAfter(last.getCreatedAt(), last.getId()) : null;
+        return new CursorPage<>(content, next);
+    }
+    
+    private static String cursorAfter(LocalDateTime createdAt, Long id) {
+        return new BetCursor(createdAt, id).encode();
+    }
+    
+    // Read models for the play page; nothing here is attached to the persistence context
+    @Transactional(readOnly = true)
+    public Page<BetCard> findPlayPageBets(Long userId, Pageable pageable) {
+        return betRepository.findBetCardsForUserWithAvailable(userId, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BetCard> getUserActiveBetCards(Long userId) {
+        return betRepository.findActiveBetCards(userId);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<BetCard> findBetCard(Long betId) {
+        return betRepository.findBetCard(betId);
+    }
+    
     public List<Bet> getUserActiveBets(Long userId) {
         return betRepository.findUserActiveBets(userId);
     }
@@ -87,6 +211,7 @@ public class BetService {
             throw new RuntimeException("User not found");
         }
 
+        transactionService.lockAccount(creator);
         if (!creator.canAffordBet(points)) {
             throw new RuntimeException("Insufficient points. Available: " + creator.getAvailablePoints());
         }
@@ -96,13 +221,70 @@ public class BetService {
         Bet bet = new Bet(creator, points, gameType, title);
         bet.setDescription(description);
         Bet savedBet = betRepository.save(bet);
+        participantRepository.save(new BetParticipant(savedBet, creator, ParticipantRole.CREATOR));
         
         transactionService.recordBetCreation(savedBet);
+        lobbyIndex.add(savedBet);
         broadcastNewBet(savedBet);
         
         return savedBet;
     }
 
+    // One lock, one balance check and one JDBC batch for the whole request; items that are invalid
+    // or no longer fit in the balance are reported individually instead of failing the batch
+    @Transactional
+    public List<BatchBetResult> createBets(Long creatorId, List<CreateBetRequest> requests) {
+        User creator = entityManager.find(User.class, creatorId);
+        if (creator == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        transactionService.lockAccount(creator);
+
+        BatchBetResult[] results = new BatchBetResult[requests.size()];
+        List<Bet> bets = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateBetRequest request = requests.get(i);
+            Integer points = request.getPoints();
+            if (points == null || points < 1) {
+                results[i] = BatchBetResult.failed(i, "Points must be at least 1");
+                continue;
+            }
+            if (request.getGameType() == null || request.getGameType().trim().isEmpty()) {
+                results[i] = BatchBetResult.failed(i, "Game type is required");
+                continue;
+            }
+            if (!creator.canAffordBet(points)) {
+                results[i] = BatchBetResult.failed(i, "Insufficient points. Available: " + creator.getAvailablePoints());
+                continue;
+            }
+
+            creator.holdPoints(points);
+            Bet bet = new Bet(creator, points, request.getGameType(), request.getTitle());
+            bet.setDescription(request.getDescription());
+            bets.add(bet);
+            positions.add(i);
+        }
+
+        if (!bets.isEmpty()) {
+            jdbcBatchRepository.insertBets(bets);
+            jdbcBatchRepository.insertCreatorParticipants(bets);
+            transactionService.recordBetCreations(bets);
+            lobbyIndex.addAll(bets);
+            advanceGenerations(bets, BetStatus.PENDING);
+            broadcastNewBets(bets);
+
+            for (int j = 0; j < bets.size(); j++) {
+                results[positions.get(j)] = BatchBetResult.created(positions.get(j), bets.get(j).getId());
+                betMetrics.incrementBetsCreated();
+            }
+        }
+        
+        logger.info("Batch created {} of {} bets for user {}", bets.size(), requests.size(), creatorId);
+        return Arrays.asList(results);
+    }
+
     @Transactional
     public Bet acceptBet(Long betId, Long acceptorId) {
         Bet bet = betRepository.findByIdWithAcceptor(betId)
@@ -114,6 +296,11 @@ public class BetService {
         }
 
         if (bet.getStatus() != BetStatus.PENDING) {
+            if (bet.getAcceptor() != null) {
+                // Another acceptor's claim committed before this request read the bet
+                betMetrics.incrementAcceptRacesLost();
+                throw new BetAlreadyAcceptedException(betId);
+            }
             throw new RuntimeException("Bet is no longer available. Current status: " + bet.getStatus());
         }
         
@@ -121,20 +308,35 @@ public class BetService {
             throw new RuntimeException("You cannot accept your own bet");
         }
         
+        // Claim the bet with a single conditional UPDATE before taking the account lock, so the
+        // loser fails fast without queueing on its own balance
+        if (betRepository.claimPendingBet(betId, acceptor) == 0) {
+            betMetrics.incrementAcceptRacesLost();
+            throw new BetAlreadyAcceptedException(betId);
+        }
+        
+        // The balance read before the lock may be stale; a failure here rolls the claim back
+        transactionService.lockAccount(acceptor);
         if (!acceptor.canAffordBet(bet.getPoints())) {
             throw new RuntimeException("Insufficient points to accept this bet");
         }
-        
         acceptor.holdPoints(bet.getPoints());
         
+        // The row is already updated; detach so the stale snapshot is not flushed back
+        entityManager.detach(bet);
         bet.setAcceptor(acceptor);
         bet.setStatus(BetStatus.ACCEPTED);
-        Bet updatedBet = betRepository.save(bet);
+        bet.setAcceptedAt(LocalDateTime.now());
+        participantRepository.updateStatus(bet.getId(), BetStatus.ACCEPTED);
+        participantRepository.save(new BetParticipant(bet, acceptor, ParticipantRole.ACCEPTOR));
         
-        transactionService.recordBetAcceptance(updatedBet);
-        broadcastBetAccepted(updatedBet);
+        transactionService.recordBetAcceptance(bet);
+        lobbyIndex.remove(bet.getId());
+        deadlineScheduler.schedule(bet);
+        betMetrics.incrementBetsAccepted();
+        broadcastBetAccepted(bet);
         
-        return updatedBet;
+        return bet;
     }
 
     public boolean canCancelBet(Bet bet, User currentUser) {
@@ -158,7 +360,7 @@ public class BetService {
 
     @Transactional
     public Bet setGameCode(Long betId, String gameCode, String username) {
-        Bet bet = betRepository.findById(betId)
+        Bet bet = betRepository.findByIdWithAcceptor(betId)
             .orElseThrow(() -> new RuntimeException("Bet not found"));
         
         if (!bet.getCreator().getUsername().equals(username)) {
@@ -178,6 +380,8 @@ public class BetService {
         bet.setCodeSharedAt(LocalDateTime.now());
         
         Bet updatedBet = betRepository.save(bet);
+        syncParticipants(updatedBet);
+        deadlineScheduler.schedule(updatedBet);
         broadcastCodeShared(updatedBet);
         
         return updatedBet;
@@ -185,7 +389,7 @@ public class BetService {
 
     @Transactional
     public void submitResult(Long betId, String username, String result, String screenshot, boolean isCreator) {
-        Bet bet = betRepository.findById(betId)
+        Bet bet = betRepository.findByIdWithAcceptor(betId)
             .orElseThrow(() -> new RuntimeException("Bet not found"));
         
         //if (bet.getStatus() == BetStatus.CODE_SHARED) {
@@ -197,6 +401,7 @@ public class BetService {
             throw new RuntimeException("You have already submitted your result");
         }
         
+        BetStatus before = bet.getStatus();
         Result resultEnum = Result.valueOf(result.toUpperCase());
         if (isCreator) {
             bet.setCreatorResult(resultEnum);
@@ -212,6 +417,10 @@ public class BetService {
             resolveBet(bet);
         } else {
             bet.setStatus(BetStatus.RESULTS_SUBMITTED);
+            bet.setResultSubmittedAt(LocalDateTime.now());
+            syncParticipants(bet);
+            deadlineScheduler.schedule(bet);
+            advanceGenerations(List.of(bet), before, BetStatus.RESULTS_SUBMITTED);
         }
         
         betRepository.save(bet);
@@ -220,12 +429,16 @@ public class BetService {
 
     @Transactional
     public void resolveBet(Bet bet) {
+        transactionService.lockAccounts(bet.getCreator(), bet.getAcceptor());
+        BetStatus before = bet.getStatus();
         User winner = bet.determineWinner();
         int totalPot = bet.getPoints() * 2;
         
         if (winner != null) {
+            // One referral lookup per settlement, usually served from the near cache
+            Optional<ActiveReferral> referral = referralService.findActiveReferral(winner);
             double platformFeeRate;
-            if (referralService.hasActiveReferrer(winner)) {
+            if (referral.isPresent()) {
                 platformFeeRate = appConfig.getPlatformFeeWithReferral();
             } else {
                 platformFeeRate = appConfig.getPlatformFeeWithoutReferral();
@@ -234,10 +447,12 @@ public class BetService {
             int platformFee = (int) (totalPot * platformFeeRate);
             int winnerAmount = totalPot - platformFee;
             
+            bet.getCreator().settleHeldPoints(bet.getPoints());
+            bet.getAcceptor().settleHeldPoints(bet.getPoints());
             winner.awardPoints(winnerAmount);
             
-            if (referralService.hasActiveReferrer(winner)) {
-                referralService.awardReferralCommission(winner, totalPot);
+            if (referral.isPresent()) {
+                referralService.awardReferralCommission(referral.get(), bet, totalPot);
             }
             
             if (winner.getId().equals(bet.getCreator().getId())) {
@@ -251,7 +466,8 @@ public class BetService {
             userService.saveUser(bet.getCreator());
             userService.saveUser(bet.getAcceptor());
             
-            transactionService.recordBetWin(bet, winner);
+            transactionService.recordBetWin(bet, winner, winnerAmount);
+            bet.setStatus(BetStatus.COMPLETED);
             
         } else {
             bet.getCreator().releasePoints(bet.getPoints());
@@ -259,22 +475,116 @@ public class BetService {
             bet.setStatus(BetStatus.DISPUTED);
             bet.setDisputeReason("Results conflict - both players claimed same result");
             
-            userService.saveUser(bet.getCreator());
-            userService.saveUser(bet.getAcceptor());
-            
             transactionService.recordBetRefund(bet);
         }
         
-        bet.setStatus(BetStatus.COMPLETED);
         bet.setCompletedAt(LocalDateTime.now());
         betRepository.save(bet);
+        syncParticipants(bet);
+        deadlineScheduler.cancel(bet.getId());
+        advanceGenerations(List.of(bet), before, bet.getStatus());
         
         broadcastBetCompleted(bet);
     }
 
+    // Called when a bet's deadline passes; re-checks the locked row so stale timers are harmless
     @Transactional
-    public void cancelBet(Long betId, String username) {
-        Bet bet = betRepository.findById(betId)
+    public void enforceDeadline(Long betId) {
+        Bet bet = betRepository.findByIdForUpdate(betId).orElse(null);
+        if (bet == null) {
+            return;
+        }
+        
+        LocalDateTime deadline = deadlineScheduler.deadlineFor(bet);
+        if (deadline == null) {
+            return;
+        }
+        if (deadline.isAfter(LocalDateTime.now())) {
+            deadlineScheduler.schedule(bet);
+            return;
+        }
+        
+        switch (bet.getStatus()) {
+            case ACCEPTED:
+                // Creator never shared a code: nobody played, both stakes go back
+                transactionService.lockAccounts(bet.getCreator(), bet.getAcceptor());
+                bet.getCreator().releasePoints(bet.getPoints());
+                bet.getAcceptor().releasePoints(bet.getPoints());
+                transactionService.recordBetRefund(bet);
+                bet.setStatus(BetStatus.CANCELLED);
+                bet.setCancelReason("Game code was not shared in time");
+                betRepository.save(bet);
+                syncParticipants(bet);
+                advanceGenerations(List.of(bet), BetStatus.ACCEPTED, BetStatus.CANCELLED);
+                broadcastBetCancelled(bet, "system");
+                break;
+            case CODE_SHARED:
+                // Neither player reported: stakes stay held for an admin to settle
+                bet.setStatus(BetStatus.DISPUTED);
+                bet.setDisputeReason("No result submitted in time");
+                betRepository.save(bet);
+                syncParticipants(bet);
+                advanceGenerations(List.of(bet), BetStatus.CODE_SHARED, BetStatus.DISPUTED);
+                broadcastToBetParticipants(bet, "BET_DISPUTED", createBetDTO(bet));
+                break;
+            case RESULTS_SUBMITTED:
+                // The silent player is taken to agree with the result that was reported
+                if (bet.getCreatorResult() == null) {
+                    bet.setCreatorResult(opposite(bet.getAcceptorResult()));
+                } else {
+                    bet.setAcceptorResult(opposite(bet.getCreatorResult()));
+                }
+                resolveBet(bet);
+                break;
+            default:
+                break;
+        }
+        logger.info("Deadline enforced for bet {} in state {}", betId, bet.getStatus());
+    }
+
+    // bet_participants mirrors bets.status so user-scoped queries never need the bets OR filter
+    private void syncParticipants(Bet bet) {
+        participantRepository.updateStatus(bet.getId(), bet.getStatus());
+    }
+
+    // Retires the cached listings the bets left and joined once they commit. Calls that go through
+    // CachedBetService advance there; these are the paths that do not (batches, results, deadlines).
+    private void advanceGenerations(List<Bet> bets, BetStatus... statuses) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (Bet bet : bets) {
+            for (BetStatus status : statuses) {
+                changed.addAll(CachedBetService.availableBetsGenerations(status, bet.getGameType(), bet.getPoints()));
+            }
+        }
+        afterCommit(() -> changed.forEach(cacheGenerations::advance));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Result opposite(Result result) {
+        if (result == Result.WIN) {
+            return Result.LOSE;
+        }
+        if (result == Result.LOSE) {
+            return Result.WIN;
+        }
+        return result;
+    }
+
+    @Transactional
+    public Bet cancelBet(Long betId, String username) {
+        Bet bet = betRepository.findByIdWithAcceptor(betId)
             .orElseThrow(() -> new RuntimeException("Bet not found"));
         
         User user = userService.findByUsername(username)
@@ -292,15 +602,14 @@ public class BetService {
             if (!bet.isCreator(user)) {
                 throw new RuntimeException("Only creator can cancel pending bets");
             }
+            transactionService.lockAccount(bet.getCreator());
             bet.getCreator().releasePoints(bet.getPoints());
-            userService.saveUser(bet.getCreator());
             transactionService.recordBetRefund(bet);
             
         } else if (bet.getStatus() == BetStatus.ACCEPTED) {
+            transactionService.lockAccounts(bet.getCreator(), bet.getAcceptor());
             bet.getCreator().releasePoints(bet.getPoints());
             bet.getAcceptor().releasePoints(bet.getPoints());
-            userService.saveUser(bet.getCreator());
-            userService.saveUser(bet.getAcceptor());
             
             transactionService.recordBetRefund(bet);
         }
@@ -308,8 +617,12 @@ public class BetService {
         bet.setStatus(BetStatus.CANCELLED);
         bet.setCancelReason("Cancelled by " + username);
         betRepository.save(bet);
+        syncParticipants(bet);
+        lobbyIndex.remove(bet.getId());
+        deadlineScheduler.cancel(bet.getId());
         
         broadcastBetCancelled(bet, username);
+        return bet;
     }
 
     public boolean canUserSubmitResult(Long betId, String username, boolean isCreator) {
@@ -363,14 +676,28 @@ public class BetService {
         return bet.getStatus() == BetStatus.PENDING || bet.getStatus() == BetStatus.ACCEPTED;
     }
 
-    // WebSocket Broadcasting Methods
+    // WebSocket Broadcasting Methods (published by the outbox after commit)
     private void broadcastNewBet(Bet bet) {
         Map<String, Object> message = new HashMap<>();
         message.put("type", "NEW_BET");
         message.put("bet", createBetDTO(bet));
         message.put("timestamp", System.currentTimeMillis());
         
-        messagingTemplate.convertAndSend("/topic/bets/all", message);
+        outbox.send("/topic/bets/all", message);
+    }
+
+    private void broadcastNewBets(List<Bet> bets) {
+        List<Map<String, Object>> betDTOs = new ArrayList<>(bets.size());
+        for (Bet bet : bets) {
+            betDTOs.add(createBetDTO(bet));
+        }
+        
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "NEW_BETS");
+        message.put("bets", betDTOs);
+        message.put("timestamp", System.currentTimeMillis());
+        
+        outbox.send("/topic/bets/all", message);
     }
 
     private void broadcastBetAccepted(Bet bet) {
@@ -381,7 +708,7 @@ public class BetService {
         
         // Notify both users specifically
         if (bet.getCreator() != null) {
-            messagingTemplate.convertAndSendToUser(
+            outbox.sendToUser(
                 bet.getCreator().getUsername(),
                 "/queue/notifications",
                 message
@@ -389,7 +716,7 @@ public class BetService {
         }
         
         if (bet.getAcceptor() != null) {
-            messagingTemplate.convertAndSendToUser(
+            outbox.sendToUser(
                 bet.getAcceptor().getUsername(), 
                 "/queue/notifications",
                 message
@@ -397,7 +724,7 @@ public class BetService {
         }
         
         // Also broadcast to the bet room
-        messagingTemplate.convertAndSend("/topic/bet/" + bet.getId(), message);
+        outbox.send("/topic/bet/" + bet.getId(), message);
     }
     
     private void broadcastCodeShared(Bet bet) {
@@ -443,7 +770,7 @@ public class BetService {
         message.put("timestamp", System.currentTimeMillis());
         
         // Broadcast to all users, not just participants
-        messagingTemplate.convertAndSend("/topic/bets/all", message);
+        outbox.send("/topic/bets/all", message);
         
         // Also notify the participants specifically
         broadcastToBetParticipants(bet, "BET_CANCELLED", betDTO);
@@ -475,7 +802,12 @@ public class BetService {
         message.put("payload", payload);
         message.put("timestamp", System.currentTimeMillis());
         
-        messagingTemplate.convertAndSendToUser(username, "/queue/notifications", message);
+        if ("POINTS_UPDATED".equals(type)) {
+            // Only the latest balance matters to the client
+            outbox.sendLatestToUser(username, "/queue/notifications", type, message);
+        } else {
+            outbox.sendToUser(username, "/queue/notifications", message);
+        }
     }
 
     private void broadcastToBetParticipants(Bet bet, String type, Object payload) {
@@ -486,18 +818,18 @@ public class BetService {
         message.put("timestamp", System.currentTimeMillis());
         
         // Send to bet-specific topic
-        messagingTemplate.convertAndSend("/topic/bet/" + bet.getId(), message);
+        outbox.send("/topic/bet/" + bet.getId(), message);
         
         // Send to individual users
         if (bet.getCreator() != null) {
-            messagingTemplate.convertAndSendToUser(
+            outbox.sendToUser(
                 bet.getCreator().getUsername(), 
                 "/queue/bet-updates", 
                 message
             );
         }
         if (bet.getAcceptor() != null) {
-            messagingTemplate.convertAndSendToUser(
+            outbox.sendToUser(
                 bet.getAcceptor().getUsername(), 
                 "/queue/bet-updates", 
                 message
@@ -544,10 +876,12 @@ public class BetService {
         return betRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public Page<Bet> findAllBetsForUser(Long userId, Pageable pageable) {
         return betRepository.findAllBetsForUser(userId, pageable);
     }
     
+    @Transactional(readOnly = true)
     public Page<Bet> findAllBetsForUserWithAvailable(Long userId, Pageable pageable) {
         return betRepository.findAllBetsForUserWithAvailable(userId, pageable);
     }
@@ -0,0 +1,197 @@
+package com.kore.king.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Transactional outbox for WebSocket broadcasts. Messages sent inside a transaction are held
+ * until it commits and dropped on rollback; a single dispatcher thread publishes them so the
+ * broker never runs inside a database transaction.
+ */
+@Component
+public class BroadcastOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastOutbox.class);
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BlockingQueue<OutboundMessage> queue = new LinkedBlockingQueue<>();
+    private final Counter publishedCounter;
+    private final Counter coalescedCounter;
+    private final Counter discardedCounter;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public BroadcastOutbox(SimpMessagingTemplate messagingTemplate, MeterRegistry registry) {
+        this.messagingTemplate = messagingTemplate;
+
+        this.publishedCounter = Counter.builder("betking.outbox.published")
+                .description("WebSocket messages published by the outbox dispatcher")
+                .register(registry);
+        this.coalescedCounter = Counter.builder("betking.outbox.coalesced")
+                .description("Messages superseded by a newer message for the same destination")
+                .register(registry);
+        this.discardedCounter = Counter.builder("betking.outbox.discarded")
+                .description("Messages dropped because their transaction rolled back")
+                .register(registry);
+        Gauge.builder("betking.outbox.queue.size", queue, BlockingQueue::size)
+                .description("Messages waiting for the outbox dispatcher")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "betking-outbox");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void send(String destination, Object payload) {
+        enqueue(new OutboundMessage(null, destination, null, payload));
+    }
+
+    public void sendToUser(String username, String destination, Object payload) {
+        enqueue(new OutboundMessage(username, destination, null, payload));
+    }
+
+    // Only the newest message per (user, destination, key) in a dispatch batch is delivered
+    public void sendLatestToUser(String username, String destination, String coalesceKey, Object payload) {
+        enqueue(new OutboundMessage(username, destination, coalesceKey, payload));
+    }
+
+    private void enqueue(OutboundMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingForCurrentTransaction().add(message);
+        } else {
+            queue.add(message);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboundMessage> pendingForCurrentTransaction() {
+        List<OutboundMessage> pending = (List<OutboundMessage>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        List<OutboundMessage> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.addAll(coalesce(created));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BroadcastOutbox.this);
+                if (status != STATUS_COMMITTED) {
+                    discardedCounter.increment(created.size());
+                }
+            }
+        });
+        return created;
+    }
+
+    private void dispatchLoop() {
+        List<OutboundMessage> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                OutboundMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                coalesce(batch).forEach(this::publish);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private List<OutboundMessage> coalesce(List<OutboundMessage> batch) {
+        Map<String, Integer> newest = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String identity = batch.get(i).coalesceIdentity();
+            if (identity != null) {
+                newest.put(identity, i);
+            }
+        }
+        if (newest.isEmpty()) {
+            return batch;
+        }
+
+        List<OutboundMessage> result = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String identity = batch.get(i).coalesceIdentity();
+            if (identity == null || newest.get(identity) == i) {
+                result.add(batch.get(i));
+            } else {
+                coalescedCounter.increment();
+            }
+        }
+        return result;
+    }
+
+    private void publish(OutboundMessage message) {
+        try {
+            if (message.username == null) {
+                messagingTemplate.convertAndSend(message.destination, message.payload);
+            } else {
+                messagingTemplate.convertAndSendToUser(message.username, message.destination, message.payload);
+            }
+            publishedCounter.increment();
+        } catch (Exception e) {
+            logger.warn("Failed to publish message to {}: {}", message.destination, e.getMessage());
+        }
+    }
+
+    private static final class OutboundMessage {
+        private final String username;
+        private final String destination;
+        private final String coalesceKey;
+        private final Object payload;
+
+        private OutboundMessage(String username, String destination, String coalesceKey, Object payload) {
+            this.username = username;
+            this.destination = destination;
+            this.coalesceKey = coalesceKey;
+            this.payload = payload;
+        }
+
+        private String coalesceIdentity() {
+            return coalesceKey == null ? null : username + "|" + destination + "|" + coalesceKey;
+        }
+    }
+}
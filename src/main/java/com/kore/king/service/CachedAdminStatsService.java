@@ -16,19 +16,19 @@ public class CachedAdminStatsService {
         this.adminStatsService = adminStatsService;
     }
 
-    @Cacheable(value = "adminStats", key = "'dashboard'")
+    @Cacheable(value = "adminStats", key = "'dashboard'", sync = true)
     public Map<String, Object> getDashboardStats() {
         return adminStatsService.getDashboardStats();
     }
 
-    @Cacheable(value = "adminStats", key = "'recentActivity'")
+    @Cacheable(value = "adminStats", key = "'recentActivity'", sync = true)
     public Map<String, Long> getRecentActivity() {
         return adminStatsService.getRecentActivity();
     }
 
-    // Auto-evict cache every 5 minutes
+    // Counters are O(1) to read, so the dashboard can refresh every few seconds
     @CacheEvict(value = "adminStats", allEntries = true)
-    @Scheduled(fixedRate = 300000)
+    @Scheduled(fixedRateString = "${app.admin.stats.refresh-ms:5000}")
     public void clearAdminStatsCache() {
         // Auto-cleared by annotation
     }
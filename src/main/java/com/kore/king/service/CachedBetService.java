@@ -1,45 +1,128 @@
 package com.kore.king.service;
 
-import org.springframework.cache.annotation.CacheEvict;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.kore.king.config.CacheGenerations;
+import com.kore.king.dto.LobbyBet;
 import com.kore.king.entity.Bet;
 import com.kore.king.entity.BetStatus;
 
 @Service
 public class CachedBetService {
 
+    // A bounded range over more buckets than this is keyed on its game (or status) generation instead
+    static final int MAX_KEY_BUCKETS = 8;
+
     private final BetService betService;
+    private final CacheGenerations generations;
 
-    public CachedBetService(BetService betService) {
+    public CachedBetService(BetService betService, CacheGenerations generations) {
         this.betService = betService;
+        this.generations = generations;
     }
 
-    @Cacheable(value = "availableBets", key = "#status.name() + '_' + #userId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    // sync: concurrent misses for a page share one load (see SingleFlightCache)
+    @Cacheable(value = "availableBets", key = "#root.target.availableBetsKey(#status, #userId, #pageable)", sync = true)
     public Page<Bet> findAvailableBets(BetStatus status, Long userId, Pageable pageable) {
         return betService.findAvailableBets(status, userId, pageable);
     }
 
-    @CacheEvict(value = {"availableBets", "userStats"}, allEntries = true)
+    // An unfiltered page lists every bet in one status, so any change to that status retires it
+    public String availableBetsKey(BetStatus status, Long userId, Pageable pageable) {
+        return status.name() + '@' + generations.current(availableBetsGeneration(status)) + '_' + userId
+                + '_' + pageable.getPageNumber() + '_' + pageable.getPageSize();
+    }
+
+    @Cacheable(value = "availableBets",
+               key = "#root.target.lobbyKey(#userId, #gameType, #minPoints, #maxPoints, #pageable)", sync = true)
+    public Page<LobbyBet> findLobbyBets(Long userId, String gameType, Integer minPoints, Integer maxPoints,
+                                        Pageable pageable) {
+        return betService.findLobbyBets(userId, gameType, minPoints, maxPoints, pageable);
+    }
+
+    // A filtered lobby page only depends on the game and points buckets it covers, so a new bet
+    // in another game or bucket leaves it cached
+    public String lobbyKey(Long userId, String gameType, Integer minPoints, Integer maxPoints, Pageable pageable) {
+        StringBuilder key = new StringBuilder("LOBBY");
+        for (String generation : lobbyGenerations(gameType, minPoints, maxPoints)) {
+            key.append('@').append(generations.current(generation));
+        }
+        return key.append('_').append(gameType).append('_').append(minPoints).append('_').append(maxPoints)
+                .append('_').append(userId).append('_').append(pageable.getPageNumber())
+                .append('_').append(pageable.getPageSize()).toString();
+    }
+
     public Bet createBet(Long creatorId, Integer points, String gameType, String title, String description) {
-        return betService.createBet(creatorId, points, gameType, title, description);
+        Bet bet = betService.createBet(creatorId, points, gameType, title, description);
+        changed(bet, BetStatus.PENDING);
+        return bet;
     }
 
-    @CacheEvict(value = {"availableBets", "userStats"}, allEntries = true)
     public Bet acceptBet(Long betId, Long acceptorId) {
-        return betService.acceptBet(betId, acceptorId);
+        Bet bet = betService.acceptBet(betId, acceptorId);
+        changed(bet, BetStatus.PENDING, BetStatus.ACCEPTED);
+        return bet;
     }
 
-    @CacheEvict(value = {"availableBets", "userStats"}, allEntries = true)
     public void cancelBet(Long betId, String username) {
-        betService.cancelBet(betId, username);
+        Bet bet = betService.cancelBet(betId, username);
+        // Only accepted bets have an acceptor, so it tells which listing the bet left
+        changed(bet, bet.getAcceptor() != null ? BetStatus.ACCEPTED : BetStatus.PENDING, BetStatus.CANCELLED);
     }
 
-    @CacheEvict(value = "userStats", allEntries = true)
+    // BetService advances the generations of a resolution itself: deadlines resolve bets too
     public void resolveBet(Bet bet) {
         betService.resolveBetWithRetry(bet.getId());
     }
-}
\ No newline at end of file
+
+    static String availableBetsGeneration(BetStatus status) {
+        return "availableBets:" + status.name();
+    }
+
+    // Every generation a bet feeds: the unfiltered pages of its status and, for PENDING, the
+    // lobby pages of its game, its points bucket, and the two together
+    static List<String> availableBetsGenerations(BetStatus status, String gameType, Integer points) {
+        String statusGeneration = availableBetsGeneration(status);
+        if (status != BetStatus.PENDING || points == null) {
+            return List.of(statusGeneration);
+        }
+        String bucket = ":bucket=" + BetLobbyIndex.bucketOf(points);
+        String game = ":game=" + gameType;
+        return List.of(statusGeneration, statusGeneration + bucket, statusGeneration + game,
+                statusGeneration + game + bucket);
+    }
+
+    // The generations a filtered lobby page depends on; an open or wide points range falls back
+    // to the whole game, or the whole status without a game
+    static List<String> lobbyGenerations(String gameType, Integer minPoints, Integer maxPoints) {
+        String pending = availableBetsGeneration(BetStatus.PENDING);
+        String scope = gameType == null ? pending : pending + ":game=" + gameType;
+        if (minPoints == null || maxPoints == null) {
+            return List.of(scope);
+        }
+
+        int from = BetLobbyIndex.bucketOf(minPoints);
+        int to = BetLobbyIndex.bucketOf(maxPoints);
+        if (to < from || to - from >= MAX_KEY_BUCKETS) {
+            return List.of(scope);
+        }
+        List<String> buckets = new ArrayList<>(to - from + 1);
+        for (int bucket = from; bucket <= to; bucket++) {
+            buckets.add(scope + ":bucket=" + bucket);
+        }
+        return buckets;
+    }
+
+    // BetService commits before returning, so readers that see the new generation see the new rows
+    private void changed(Bet bet, BetStatus... statuses) {
+        for (BetStatus status : statuses) {
+            availableBetsGenerations(status, bet.getGameType(), bet.getPoints()).forEach(generations::advance);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.kore.king.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kore.king.repository.LedgerPartitionRepository;
+import com.kore.king.repository.LedgerPartitionRepository.AttachedPartition;
+
+/**
+ * Keeps the monthly ledger partitions ahead of the clock and moves expired months out of the
+ * live table. A month is only archived once balance snapshots cover all of its rows, so
+ * balances never need a detached partition. Does nothing until V6 has partitioned the table.
+ */
+@Service
+public class LedgerPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPartitionService.class);
+
+    private final LedgerPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ledger.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${app.ledger.partitions.retention-months:12}")
+    private int retentionMonths = 12;
+
+    // Optional tablespace for archived months, e.g. one on cheaper or compressed storage
+    @Value("${app.ledger.partitions.archive-tablespace:}")
+    private String archiveTablespace = "";
+
+    public LedgerPartitionService(LedgerPartitionRepository partitionRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.ledger.partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                logger.warn("Skipping ledger partition maintenance: transactions is not partitioned (V6 not applied)");
+                return;
+            }
+            createUpcomingPartitions(YearMonth.now());
+            archiveExpiredPartitions(LocalDate.now());
+        } catch (RuntimeException e) {
+            logger.error("Ledger partition maintenance failed", e);
+        }
+    }
+
+    void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitionRepository.partitionExists(month)) {
+                partitionRepository.createPartition(month);
+                logger.info("Created ledger partition {}", LedgerPartitionRepository.partitionName(month));
+            }
+        }
+    }
+
+    void archiveExpiredPartitions(LocalDate today) {
+        LocalDate cutoff = YearMonth.from(today).minusMonths(retentionMonths).atDay(1);
+        Long watermark = partitionRepository.snapshotWatermark();
+
+        for (AttachedPartition partition : partitionRepository.findAttachedPartitions()) {
+            if (partition.getUpperBound() == null) {
+                continue;
+            }
+            if (partition.getLowerBound() == null && !archiveOldestMonths(partition, cutoff, watermark)) {
+                continue;
+            }
+            if (partition.getUpperBound().isAfter(cutoff)) {
+                continue;
+            }
+
+            Long maxId = partitionRepository.maxId(partition);
+            if (maxId != null && (watermark == null || maxId > watermark)) {
+                logger.warn("Keeping expired ledger partition {}: rows above snapshot watermark {}",
+                        partition.getName(), watermark);
+                continue;
+            }
+
+            transactionTemplate.executeWithoutResult(
+                    status -> partitionRepository.detachAndArchive(partition, archiveTablespace));
+            logger.info("Archived ledger partition {}", partition.getName());
+        }
+    }
+
+    // The legacy partition from V6 starts at MINVALUE and holds all pre-partitioning history; its
+    // expired months are moved out one at a time. Returns true once at most one month is left, so
+    // the caller can archive the remainder as a whole.
+    private boolean archiveOldestMonths(AttachedPartition partition, LocalDate cutoff, Long watermark) {
+        LocalDate oldest;
+        while ((oldest = partitionRepository.oldestDate(partition)) != null) {
+            YearMonth month = YearMonth.from(oldest);
+            LocalDate end = month.plusMonths(1).atDay(1);
+            if (!end.isBefore(partition.getUpperBound())) {
+                return true;
+            }
+            if (end.isAfter(cutoff)) {
+                return false;
+            }
+
+            Long maxId = partitionRepository.maxIdBefore(partition, end);
+            if (maxId != null && (watermark == null || maxId > watermark)) {
+                logger.warn("Keeping expired ledger month {} in {}: rows above snapshot watermark {}",
+                        month, partition.getName(), watermark);
+                return false;
+            }
+
+            transactionTemplate.executeWithoutResult(
+                    status -> partitionRepository.archiveMonth(partition, month, archiveTablespace));
+            logger.info("Archived ledger month {} from partition {}", month, partition.getName());
+        }
+        return true;
+    }
+}
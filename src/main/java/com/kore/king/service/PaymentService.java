@@ -22,13 +22,16 @@ public class PaymentService {
     private final PaymentRequestRepository paymentRequestRepository;
     private final FileStorageService fileStorageService;
     private final UserService userService;
+    private final TransactionService transactionService;
 
     public PaymentService(PaymentRequestRepository paymentRequestRepository, 
                          FileStorageService fileStorageService,
-                         UserService userService) {
+                         UserService userService,
+                         TransactionService transactionService) {
         this.paymentRequestRepository = paymentRequestRepository;
         this.fileStorageService = fileStorageService;
         this.userService = userService;
+        this.transactionService = transactionService;
     }
 
     public PaymentRequest createPaymentRequest(PaymentRequest paymentRequest, User user, MultipartFile screenshot) {
@@ -69,8 +72,8 @@ public class PaymentService {
 
         // Add points to user
         User user = paymentRequest.getUser();
-        user.setAvailablePoints(user.getAvailablePoints() + pointsToAdd);
-        userService.saveUser(user);
+        user.awardPoints(pointsToAdd);
+        transactionService.recordDeposit(user, pointsToAdd, "Payment approved: " + transactionId);
 
         // Update payment request
         paymentRequest.setStatus(PaymentStatus.APPROVED);
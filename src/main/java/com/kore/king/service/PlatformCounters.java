@@ -0,0 +1,38 @@
+package com.kore.king.service;
+
+import java.time.LocalDate;
+
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.PaymentStatus;
+import com.kore.king.entity.WithdrawalStatus;
+
+// Counter and amount names written by the V7 and V8 triggers
+final class PlatformCounters {
+
+    static final String USERS_TOTAL = "users.total";
+    static final String BETS_TOTAL = "bets.total";
+    static final String PAYMENTS_AMOUNT = "payments.amount";
+    static final String WITHDRAWALS_AMOUNT = "withdrawals.amount";
+
+    private PlatformCounters() {}
+
+    static String usersRegisteredOn(LocalDate day) {
+        return "users.registered:" + day;
+    }
+
+    static String betsCreatedOn(LocalDate day) {
+        return "bets.created:" + day;
+    }
+
+    static String bets(BetStatus status) {
+        return "bets.status:" + status.name();
+    }
+
+    static String payments(PaymentStatus status) {
+        return "payments.status:" + status.name();
+    }
+
+    static String withdrawals(WithdrawalStatus status) {
+        return "withdrawals.status:" + status.name();
+    }
+}
@@ -1,12 +1,20 @@
 package com.kore.king.service;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.kore.king.dto.ActiveReferral;
+import com.kore.king.entity.Bet;
 import com.kore.king.entity.Referral;
 import com.kore.king.entity.User;
 import com.kore.king.repository.ReferralRepository;
 
+import jakarta.persistence.EntityManager;
+
 import java.util.Optional;
 
 @Service
@@ -15,18 +23,38 @@ public class ReferralService {
 
     private final ReferralRepository referralRepository;
     private final UserService userService;
+    private final TransactionService transactionService;
+    private final EntityManager entityManager;
+
+    // Referred user id -> active referral, in the shared cache stack so an eviction reaches every
+    // node; misses are cached too since most winners have none
+    private final Cache activeReferrals;
 
-    public ReferralService(ReferralRepository referralRepository, UserService userService) {
+    public ReferralService(ReferralRepository referralRepository, UserService userService,
+                           TransactionService transactionService, EntityManager entityManager,
+                           CacheManager cacheManager) {
         this.referralRepository = referralRepository;
         this.userService = userService;
+        this.transactionService = transactionService;
+        this.entityManager = entityManager;
+        this.activeReferrals = cacheManager.getCache("activeReferrals");
     }
 
     public Optional<Referral> findReferralByReferredUser(User referredUser) {
         return referralRepository.findByReferred(referredUser);
     }
 
+    public Optional<ActiveReferral> findActiveReferral(User referredUser) {
+        Long referredId = referredUser.getId();
+        // String keys, so other nodes evict just this entry rather than clearing their L1
+        return Optional.ofNullable(activeReferrals.get(String.valueOf(referredId),
+                () -> referralRepository.findActiveByReferredId(referredId)
+                        .map(view -> new ActiveReferral(view.getReferralId(), view.getReferrerId()))
+                        .orElse(null)));
+    }
+
     public boolean hasActiveReferrer(User user) {
-        return referralRepository.findByReferredAndIsActive(user, true).isPresent();
+        return findActiveReferral(user).isPresent();
     }
 
     public Referral getReferrer(User referredUser) {
@@ -42,28 +70,53 @@ public class ReferralService {
         }
 
         Referral referral = new Referral(referrer, referredUser);
-        return referralRepository.save(referral);
+        Referral saved = referralRepository.save(referral);
+        invalidate(referredUser.getId());
+        return saved;
     }
 
     @Transactional
-    public void awardReferralCommission(User winner, int betAmount) {
-        Referral referral = getReferrer(winner);
-        if (referral != null) {
-            double commission = betAmount * 0.01; // 1% commission
-            
-            // Update referral stats
-            referral.setTotalCommissionEarned(referral.getTotalCommissionEarned() + commission);
-            referral.setTotalReferredWins(referral.getTotalReferredWins() + 1);
+    public void deactivateReferral(User referredUser) {
+        referralRepository.findByReferredAndIsActive(referredUser, true).ifPresent(referral -> {
+            referral.setActive(false);
             referralRepository.save(referral);
-            
-            // Award commission to referrer
-            User referrer = referral.getReferrer();
-            referrer.setAvailablePoints(referrer.getAvailablePoints() + (int) commission);
-            userService.saveUser(referrer);
-        }
+        });
+        invalidate(referredUser.getId());
+    }
+
+    @Transactional
+    public void awardReferralCommission(User winner, Bet bet, int betAmount) {
+        findActiveReferral(winner).ifPresent(referral -> awardReferralCommission(referral, bet, betAmount));
+    }
+
+    // Settlement path: the caller already holds the cached referral, so no further lookups happen here
+    @Transactional
+    public void awardReferralCommission(ActiveReferral referral, Bet bet, int betAmount) {
+        double commission = betAmount * 0.01; // 1% commission
+
+        // Update referral stats in place
+        referralRepository.addReferredWin(referral.getReferralId(), commission);
+
+        // Award commission to referrer
+        User referrer = entityManager.getReference(User.class, referral.getReferrerId());
+        transactionService.recordReferralCommission(referrer, (int) commission, bet);
     }
 
     public long getReferralCount(User referrer) {
         return referralRepository.countByReferrerAndIsActive(referrer, true);
     }
-}
\ No newline at end of file
+
+    // Evict now and again after commit, so a concurrent reader cannot re-cache the old state
+    private void invalidate(Long referredId) {
+        String key = String.valueOf(referredId);
+        activeReferrals.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeReferrals.evict(key);
+                }
+            });
+        }
+    }
+}
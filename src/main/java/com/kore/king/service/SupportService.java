@@ -93,18 +93,22 @@ public class SupportService {
         return ticketMessage;
     }
 
+    @Transactional(readOnly = true)
     public Page<SupportTicket> getUserTickets(Long userId, Pageable pageable) {
         return supportTicketRepository.findByUserIdOrderByUpdatedAtDesc(userId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<SupportTicket> getAllTickets(Pageable pageable) {
         return supportTicketRepository.findAllByOrderByUpdatedAtDesc(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<SupportTicket> getTicketsByStatus(TicketStatus status, Pageable pageable) {
         return supportTicketRepository.findByStatusOrderByUpdatedAtDesc(status, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Optional<SupportTicket> getTicketById(Long ticketId) {
         return supportTicketRepository.findByIdWithMessages(ticketId);
     }
@@ -145,11 +149,13 @@ public class SupportService {
         return supportTicketRepository.save(ticket);
     }
 
+    @Transactional(readOnly = true)
     public long getOpenTicketCount() {
         return supportTicketRepository.countByStatusIn(
                 List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.REOPENED));
     }
 
+    @Transactional(readOnly = true)
     public long getUserOpenTicketCount(Long userId) {
         return supportTicketRepository.countByUserIdAndStatusIn(userId,
                 List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.REOPENED));
@@ -0,0 +1,138 @@
+package com.kore.king.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical hashed timing wheel: four levels of 64 slots, each level 64 times coarser than
+ * the one below. A timer sits in the coarsest level that can hold it and cascades down as time
+ * advances, so schedule, cancel and each tick cost O(1) however many timers are pending.
+ * Not thread-safe; callers synchronize.
+ */
+final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<Set<K>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<K, Timer> timers = new HashMap<>();
+    private final Set<K> due = new LinkedHashSet<>();
+
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    // Replaces any timer already registered for the key
+    void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long expiryTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        place(key, expiryTick);
+    }
+
+    boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.slot < 0) {
+            due.remove(key);
+        } else {
+            slots.get(timer.slot).remove(key);
+        }
+        return true;
+    }
+
+    // Moves the wheel forward to the given time and returns every key whose deadline has passed
+    List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+
+            Set<K> slot = slots.get(slotIndex(0, currentTick));
+            for (K key : slot) {
+                timers.remove(key);
+                expired.add(key);
+            }
+            slot.clear();
+        }
+
+        for (K key : due) {
+            timers.remove(key);
+            expired.add(key);
+        }
+        due.clear();
+        return expired;
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    private void cascade(int level) {
+        Set<K> slot = slots.get(slotIndex(level, currentTick));
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        for (K key : keys) {
+            place(key, timers.get(key).expiryTick);
+        }
+    }
+
+    private void place(K key, long expiryTick) {
+        long delta = expiryTick - currentTick;
+        if (delta <= 0) {
+            due.add(key);
+            timers.put(key, new Timer(expiryTick, -1));
+            return;
+        }
+
+        // Timers beyond the top level park in its furthest slot and are re-placed when it cascades
+        long slotTick = delta < MAX_SPAN ? expiryTick : currentTick + MAX_SPAN - 1;
+        long span = Math.min(delta, MAX_SPAN - 1);
+        int level = 0;
+        while (span >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        int index = slotIndex(level, slotTick);
+        slots.get(index).add(key);
+        timers.put(key, new Timer(expiryTick, index));
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    private static final class Timer {
+        private final long expiryTick;
+        private final int slot;
+
+        private Timer(long expiryTick, int slot) {
+            this.expiryTick = expiryTick;
+            this.slot = slot;
+        }
+    }
+}
@@ -1,96 +1,250 @@
 package com.kore.king.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.kore.king.dto.PointsBalance;
+import com.kore.king.entity.BalanceSnapshot;
 import com.kore.king.entity.Bet;
 import com.kore.king.entity.Transaction;
 import com.kore.king.entity.TransactionType;
 import com.kore.king.entity.User;
+import com.kore.king.repository.BalanceSnapshotRepository;
+import com.kore.king.repository.JdbcBatchRepository;
 import com.kore.king.repository.TransactionRepository;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Append-only points ledger. Every balance change is one Transaction row carrying the
+ * account id and its available/held deltas; balances are the latest snapshot plus the tail.
+ */
 @Service
 @Transactional
 public class TransactionService {
     
     private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final Cache secondLevelCache;
+    
+    // Default history window; keeps history reads inside the recent ledger partitions
+    @Value("${app.ledger.history-months:3}")
+    private int historyMonths = 3;
     
-    public TransactionService(TransactionRepository transactionRepository) {
+    public TransactionService(TransactionRepository transactionRepository,
+                              BalanceSnapshotRepository balanceSnapshotRepository,
+                              JdbcBatchRepository jdbcBatchRepository,
+                              EntityManagerFactory entityManagerFactory) {
         this.transactionRepository = transactionRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.jdbcBatchRepository = jdbcBatchRepository;
+        this.secondLevelCache = entityManagerFactory.getCache();
     }
     
     @Transactional
     public void recordBetCreation(Bet bet) {
-        Transaction transaction = new Transaction();
-        transaction.setFromUser(bet.getCreator());
-        transaction.setPoints(bet.getPoints());
-        transaction.setType(TransactionType.BET_CREATION);
-        transaction.setBet(bet);
-        transaction.setDescription("Bet creation: " + bet.getTitle());
-        transaction.setCreatedAt(LocalDateTime.now());
-        transactionRepository.save(transaction);
+        append(entry(bet.getCreator(), null, bet.getCreator(),
+                TransactionType.BET_CREATION, bet.getPoints(), -bet.getPoints(), bet.getPoints(),
+                bet, "Bet creation: " + bet.getTitle()));
+    }
+    
+    // Bulk variant for batch creation: one JDBC batch for all hold entries
+    @Transactional
+    public void recordBetCreations(List<Bet> bets) {
+        List<Transaction> entries = new ArrayList<>(bets.size());
+        for (Bet bet : bets) {
+            entries.add(entry(bet.getCreator(), null, bet.getCreator(),
+                    TransactionType.BET_CREATION, bet.getPoints(), -bet.getPoints(), bet.getPoints(),
+                    bet, "Bet creation: " + bet.getTitle()));
+        }
+        append(entries);
     }
     
     @Transactional
     public void recordBetAcceptance(Bet bet) {
         if (bet.getAcceptor() != null) {
-            Transaction transaction = new Transaction();
-            transaction.setFromUser(bet.getAcceptor());
-            transaction.setPoints(bet.getPoints());
-            transaction.setType(TransactionType.BET_ACCEPTANCE);
-            transaction.setBet(bet);
-            transaction.setDescription("Bet acceptance: " + bet.getTitle());
-            transaction.setCreatedAt(LocalDateTime.now());
-            transactionRepository.save(transaction);
+            append(entry(bet.getAcceptor(), null, bet.getAcceptor(),
+                    TransactionType.BET_ACCEPTANCE, bet.getPoints(), -bet.getPoints(), bet.getPoints(),
+                    bet, "Bet acceptance: " + bet.getTitle()));
         }
     }
     
     @Transactional
-    public void recordBetWin(Bet bet, User winner) {
-        Transaction transaction = new Transaction();
-        transaction.setToUser(winner);
-        transaction.setPoints(bet.getPoints() * 2); // Winner gets both pots
-        transaction.setType(TransactionType.WIN);
-        transaction.setBet(bet);
-        transaction.setDescription("Bet win: " + bet.getTitle());
-        transaction.setCreatedAt(LocalDateTime.now());
-        transactionRepository.save(transaction);
+    public void recordBetWin(Bet bet, User winner, int winnerAmount) {
+        List<Transaction> entries = new ArrayList<>();
+        
+        // Both stakes leave the held balance, the winner is paid the pot minus the platform fee
+        entries.add(entry(bet.getCreator(), null, bet.getCreator(), TransactionType.BET_SETTLEMENT,
+                bet.getPoints(), 0, -bet.getPoints(), bet, "Bet settled: " + bet.getTitle()));
+        entries.add(entry(bet.getAcceptor(), null, bet.getAcceptor(), TransactionType.BET_SETTLEMENT,
+                bet.getPoints(), 0, -bet.getPoints(), bet, "Bet settled: " + bet.getTitle()));
+        entries.add(entry(null, winner, winner, TransactionType.WIN,
+                winnerAmount, winnerAmount, 0, bet, "Bet win: " + bet.getTitle()));
+        
+        // Settlements are the hottest ledger path: one JDBC batch on the caller's connection, so the
+        // rows commit or roll back with the bet's state change. Batching rows across requests would
+        // need a separate transaction and lose that; concurrent settlements share their commit fsync
+        // through Postgres group commit (commit_delay) instead.
+        append(entries);
     }
     
     @Transactional
     public void recordBetRefund(Bet bet) {
+        List<Transaction> entries = new ArrayList<>();
+        
         // Refund creator
-        Transaction creatorRefund = new Transaction();
-        creatorRefund.setToUser(bet.getCreator());
-        creatorRefund.setPoints(bet.getPoints());
-        creatorRefund.setType(TransactionType.REFUND);
-        creatorRefund.setBet(bet);
-        creatorRefund.setDescription("Bet refund: " + bet.getTitle());
-        creatorRefund.setCreatedAt(LocalDateTime.now());
-        transactionRepository.save(creatorRefund);
+        entries.add(entry(null, bet.getCreator(), bet.getCreator(), TransactionType.REFUND,
+                bet.getPoints(), bet.getPoints(), -bet.getPoints(), bet, "Bet refund: " + bet.getTitle()));
         
         // Refund acceptor if exists
         if (bet.getAcceptor() != null) {
-            Transaction acceptorRefund = new Transaction();
-            acceptorRefund.setToUser(bet.getAcceptor());
-            acceptorRefund.setPoints(bet.getPoints());
-            acceptorRefund.setType(TransactionType.REFUND);
-            acceptorRefund.setBet(bet);
-            acceptorRefund.setDescription("Bet refund: " + bet.getTitle());
-            acceptorRefund.setCreatedAt(LocalDateTime.now());
-            transactionRepository.save(acceptorRefund);
+            entries.add(entry(null, bet.getAcceptor(), bet.getAcceptor(), TransactionType.REFUND,
+                    bet.getPoints(), bet.getPoints(), -bet.getPoints(), bet, "Bet refund: " + bet.getTitle()));
+        }
+        
+        append(entries);
+    }
+    
+    @Transactional
+    public void recordReferralCommission(User referrer, int commission, Bet bet) {
+        append(entry(null, referrer, referrer, TransactionType.REFERRAL_BONUS,
+                commission, commission, 0, bet, "Referral commission"));
+    }
+    
+    @Transactional
+    public void recordDeposit(User user, int points, String description) {
+        append(entry(null, user, user, TransactionType.DEPOSIT,
+                points, points, 0, null, description));
+    }
+    
+    @Transactional
+    public void recordOpeningBalance(User user, int points) {
+        append(entry(null, user, user, TransactionType.OPENING_BALANCE,
+                points, points, 0, null, "Opening balance"));
+    }
+    
+    @Transactional
+    public void recordWithdrawalHold(User user, int points) {
+        append(entry(user, null, user, TransactionType.WITHDRAWAL_HOLD,
+                points, -points, points, null, "Withdrawal requested"));
+    }
+    
+    @Transactional
+    public void recordWithdrawal(User user, int points) {
+        append(entry(user, null, user, TransactionType.WITHDRAWAL,
+                points, 0, -points, null, "Withdrawal paid out"));
+    }
+    
+    @Transactional
+    public void recordWithdrawalRelease(User user, int points) {
+        append(entry(null, user, user, TransactionType.WITHDRAWAL_RELEASE,
+                points, points, -points, null, "Withdrawal rejected"));
+    }
+    
+    // Set-based refunds for a sweep of expired bets; the rows bypass append, so evict the creators here
+    @Transactional
+    public void recordExpiryRefunds(List<Long> betIds, LocalDateTime now) {
+        List<Long> creatorIds = transactionRepository.findCreatorIds(betIds);
+        transactionRepository.insertExpiryRefunds(betIds, now);
+        evictCachedAccounts(creatorIds);
+    }
+    
+    // Serializes balance changes for one account and refreshes the in-memory balance from the ledger
+    @Transactional
+    public void lockAccount(User user) {
+        transactionRepository.lockAccount(user.getId());
+        PointsBalance balance = getBalance(user.getId());
+        user.setAvailablePoints(balance.getAvailable());
+        user.setHeldPoints(balance.getHeld());
+    }
+    
+    // Both sides of a bet, always in id order, so two settlements over the same players cannot deadlock
+    @Transactional
+    public void lockAccounts(User first, User second) {
+        boolean inOrder = first.getId() < second.getId();
+        lockAccount(inOrder ? first : second);
+        lockAccount(inOrder ? second : first);
+    }
+    
+    @Transactional(readOnly = true)
+    public PointsBalance getBalance(Long userId) {
+        BalanceSnapshot snapshot = balanceSnapshotRepository.findFirstByUserIdOrderByLastTransactionIdDesc(userId)
+                .orElse(null);
+        long afterId = snapshot != null ? snapshot.getLastTransactionId() : 0L;
+        TransactionRepository.LedgerTotals tail = transactionRepository.sumLedgerAfter(userId, afterId);
+        
+        int available = (snapshot != null ? snapshot.getAvailablePoints() : 0) + tail.getAvailable().intValue();
+        int held = (snapshot != null ? snapshot.getHeldPoints() : 0) + tail.getHeld().intValue();
+        return new PointsBalance(available, held);
+    }
+    
+    private void append(Transaction entry) {
+        transactionRepository.save(entry);
+        evictCachedAccounts(List.of(entry.getAccountId()));
+    }
+    
+    private void append(List<Transaction> entries) {
+        jdbcBatchRepository.insertTransactions(entries);
+        evictCachedAccounts(entries.stream().map(Transaction::getAccountId).collect(Collectors.toSet()));
+    }
+    
+    // The balance formulas are part of the cached User and ledger rows never touch the users row,
+    // so the moved accounts are evicted once the rows are visible. A load racing the commit can
+    // still re-cache the old balance, so every hold, settle and release calls lockAccount first,
+    // which re-reads the balance from the ledger under the account lock.
+    private void evictCachedAccounts(Collection<Long> accountIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accountIds.forEach(id -> secondLevelCache.evict(User.class, id));
+                }
+            });
+        } else {
+            accountIds.forEach(id -> secondLevelCache.evict(User.class, id));
         }
     }
+    
+    private Transaction entry(User fromUser, User toUser, User account, TransactionType type, int points,
+                              int availableDelta, int heldDelta, Bet bet, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setFromUser(fromUser);
+        transaction.setToUser(toUser);
+        transaction.setAccountId(account.getId());
+        transaction.setPoints(points);
+        transaction.setAvailableDelta(availableDelta);
+        transaction.setHeldDelta(heldDelta);
+        transaction.setType(type);
+        transaction.setBet(bet);
+        transaction.setDescription(description);
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
 
     // Additional utility methods if needed
+    @Transactional(readOnly = true)
     public List<Transaction> getUserTransactions(Long userId) {
-        return transactionRepository.findUserTransactions(userId);
+        return getUserTransactions(userId, LocalDateTime.now().minusMonths(historyMonths));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Transaction> getUserTransactions(Long userId, LocalDateTime since) {
+        return transactionRepository.findUserTransactions(userId, since);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getBetTransactions(Long betId) {
         return transactionRepository.findByBetIdOrderByCreatedAtDesc(betId);
     }
-}
\ No newline at end of file
+}
@@ -14,15 +14,22 @@ import com.kore.king.repository.UserRepository;
 
 @Service
 public class UserService {
+
+    // Opening balance credited to every self-registered account
+    public static final int STARTING_POINTS = 1000;
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionService transactionService;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TransactionService transactionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.transactionService = transactionService;
     }
     
+    @Transactional
     public User registerUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -32,21 +39,27 @@ public class UserService {
         }
         
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        transactionService.recordOpeningBalance(saved, STARTING_POINTS);
+        saved.setAvailablePoints(STARTING_POINTS);
+        return saved;
     }
     
     public User saveUser(User user) {
         return userRepository.save(user);
     }
-    //@Cacheable(value = "users", key = "#username")
+    // Served from the second-level cache; ledger writes evict the accounts they move (TransactionService)
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userRepository.loadByUsername(username);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional
     public User createAdminUser(String username, String email, String password) {
         if (userRepository.existsByUsername(username)) {
             throw new RuntimeException("Username already exists");
@@ -59,7 +72,9 @@ public class UserService {
         admin.setRole(UserRole.EMPLOYEE_ADMIN);
         admin.setAvailablePoints(10000);
         
-        return userRepository.save(admin);
+        User saved = userRepository.save(admin);
+        transactionService.recordOpeningBalance(saved, admin.getAvailablePoints());
+        return saved;
     }
 
     public List<User> getAllAdmins() {
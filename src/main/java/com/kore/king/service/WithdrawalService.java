@@ -22,21 +22,25 @@ public class WithdrawalService {
     private final FileStorageService fileStorageService;
     private final UserService userService;
     private final AppConfig appConfig;
+    private final TransactionService transactionService;
 
     public WithdrawalService(WithdrawalRequestRepository withdrawalRequestRepository,
                            FileStorageService fileStorageService,
                            UserService userService,
-                           AppConfig appConfig) {
+                           AppConfig appConfig,
+                           TransactionService transactionService) {
         this.withdrawalRequestRepository = withdrawalRequestRepository;
         this.fileStorageService = fileStorageService;
         this.userService = userService;
         this.appConfig = appConfig;
+        this.transactionService = transactionService;
     }
 
     public WithdrawalRequest createWithdrawalRequest(WithdrawalRequest withdrawalRequest, 
                                                    User user, 
                                                    MultipartFile screenshot) {
-        // Validate withdrawal amount
+        // Validate withdrawal amount against the ledger balance
+        transactionService.lockAccount(user);
         validateWithdrawalRequest(user, withdrawalRequest.getPoints());
 
         // Store screenshot
@@ -48,7 +52,7 @@ public class WithdrawalService {
 
         // Hold points from user
         user.holdPoints(withdrawalRequest.getPoints());
-        userService.saveUser(user);
+        transactionService.recordWithdrawalHold(user, withdrawalRequest.getPoints());
 
         return withdrawalRequestRepository.save(withdrawalRequest);
     }
@@ -94,11 +98,11 @@ public class WithdrawalService {
             throw new RuntimeException("Withdrawal request is not pending");
         }
 
-        // Deduct points from user (they were already held)
+        // Pay out the points that were held when the request was created
         User user = withdrawalRequest.getUser();
-        user.releasePoints(withdrawalRequest.getPoints()); // Release held points
-        user.setAvailablePoints(user.getAvailablePoints() - withdrawalRequest.getPoints()); // Actually deduct
-        userService.saveUser(user);
+        transactionService.lockAccount(user);
+        user.settleHeldPoints(withdrawalRequest.getPoints());
+        transactionService.recordWithdrawal(user, withdrawalRequest.getPoints());
 
         // Update withdrawal request
         withdrawalRequest.setStatus(WithdrawalStatus.APPROVED);
@@ -120,8 +124,9 @@ public class WithdrawalService {
 
         // Return held points to user
         User user = withdrawalRequest.getUser();
+        transactionService.lockAccount(user);
         user.releasePoints(withdrawalRequest.getPoints());
-        userService.saveUser(user);
+        transactionService.recordWithdrawalRelease(user, withdrawalRequest.getPoints());
 
         withdrawalRequest.setStatus(WithdrawalStatus.REJECTED);
         withdrawalRequest.setProcessedAt(LocalDateTime.now());
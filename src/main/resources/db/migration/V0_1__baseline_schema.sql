@@ -0,0 +1,170 @@
+-- The schema as Hibernate generated it before the migrations took over, so V1 onwards can run on
+-- an empty database. Existing databases are baselined at version 0 (spring.flyway.baseline-on-migrate)
+-- and run this too; every statement is IF NOT EXISTS, so it leaves their tables alone.
+
+CREATE TABLE IF NOT EXISTS users (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version          BIGINT,
+    username         VARCHAR(255) NOT NULL UNIQUE,
+    password         VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL UNIQUE,
+    available_points INTEGER NOT NULL,
+    held_points      INTEGER NOT NULL,
+    role             VARCHAR(255),
+    created_at       TIMESTAMP(6),
+    wins             INTEGER NOT NULL,
+    losses           INTEGER NOT NULL,
+    disputes         INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_user_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_user_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_user_role ON users (role);
+CREATE INDEX IF NOT EXISTS idx_user_created ON users (created_at);
+
+CREATE TABLE IF NOT EXISTS bets (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title              VARCHAR(255),
+    description        VARCHAR(255),
+    points             INTEGER,
+    creator_id         BIGINT NOT NULL REFERENCES users (id),
+    acceptor_id        BIGINT REFERENCES users (id),
+    status             VARCHAR(255),
+    game_code          VARCHAR(255),
+    game_type          VARCHAR(255),
+    creator_result     VARCHAR(255),
+    acceptor_result    VARCHAR(255),
+    winner_screenshot  VARCHAR(255),
+    dispute_reason     VARCHAR(255),
+    cancel_reason      VARCHAR(255),
+    created_at         TIMESTAMP(6),
+    expires_at         TIMESTAMP(6),
+    code_shared_at     TIMESTAMP(6),
+    completed_at       TIMESTAMP(6),
+    creator_socket_id  VARCHAR(255),
+    acceptor_socket_id VARCHAR(255)
+);
+CREATE INDEX IF NOT EXISTS idx_bet_status ON bets (status);
+CREATE INDEX IF NOT EXISTS idx_bet_creator ON bets (creator_id);
+CREATE INDEX IF NOT EXISTS idx_bet_acceptor ON bets (acceptor_id);
+CREATE INDEX IF NOT EXISTS idx_bet_created ON bets (created_at);
+CREATE INDEX IF NOT EXISTS idx_bet_status_created ON bets (status, created_at);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    from_user_id BIGINT REFERENCES users (id),
+    to_user_id   BIGINT REFERENCES users (id),
+    points       INTEGER,
+    type         VARCHAR(255),
+    bet_id       BIGINT REFERENCES bets (id),
+    description  VARCHAR(255),
+    created_at   TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_transaction_from_user ON transactions (from_user_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_to_user ON transactions (to_user_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_bet ON transactions (bet_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_created ON transactions (created_at);
+CREATE INDEX IF NOT EXISTS idx_transaction_type ON transactions (type);
+
+CREATE TABLE IF NOT EXISTS referrals (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    referrer_id             BIGINT NOT NULL REFERENCES users (id),
+    referred_id             BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    total_commission_earned FLOAT(53),
+    total_referred_wins     INTEGER,
+    created_at              TIMESTAMP(6),
+    is_active               BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS payment_requests (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id             BIGINT NOT NULL REFERENCES users (id),
+    amount              NUMERIC(38, 2),
+    payment_method      VARCHAR(255),
+    upi_id              VARCHAR(255),
+    account_number      VARCHAR(255),
+    ifsc_code           VARCHAR(255),
+    account_holder_name VARCHAR(255),
+    screenshot_path     VARCHAR(255),
+    status              VARCHAR(255),
+    transaction_id      VARCHAR(255),
+    notes               VARCHAR(255),
+    created_at          TIMESTAMP(6),
+    processed_at        TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_payment_user ON payment_requests (user_id);
+CREATE INDEX IF NOT EXISTS idx_payment_status ON payment_requests (status);
+CREATE INDEX IF NOT EXISTS idx_payment_created ON payment_requests (created_at);
+
+CREATE TABLE IF NOT EXISTS withdrawal_requests (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id             BIGINT NOT NULL REFERENCES users (id),
+    points              INTEGER,
+    amount              NUMERIC(38, 2),
+    method              VARCHAR(255),
+    status              VARCHAR(255),
+    upi_id              VARCHAR(255),
+    account_number      VARCHAR(255),
+    ifsc_code           VARCHAR(255),
+    account_holder_name VARCHAR(255),
+    screenshot_path     VARCHAR(255),
+    transaction_id      VARCHAR(255),
+    admin_notes         VARCHAR(255),
+    created_at          TIMESTAMP(6),
+    processed_at        TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_withdrawal_user ON withdrawal_requests (user_id);
+CREATE INDEX IF NOT EXISTS idx_withdrawal_status ON withdrawal_requests (status);
+CREATE INDEX IF NOT EXISTS idx_withdrawal_created ON withdrawal_requests (created_at);
+
+CREATE TABLE IF NOT EXISTS screenshots (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bet_id      BIGINT REFERENCES bets (id),
+    user_id     BIGINT REFERENCES users (id),
+    filename    VARCHAR(255),
+    file_path   VARCHAR(255),
+    uploaded_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS support_tickets (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT NOT NULL REFERENCES users (id),
+    category       VARCHAR(255),
+    title          VARCHAR(255),
+    description    VARCHAR(2000),
+    status         VARCHAR(255),
+    priority       VARCHAR(255),
+    related_bet_id BIGINT REFERENCES bets (id),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    closed_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS ticket_attachments (
+    ticket_id BIGINT NOT NULL REFERENCES support_tickets (id),
+    file_path VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS ticket_messages (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ticket_id           BIGINT NOT NULL REFERENCES support_tickets (id),
+    user_id             BIGINT NOT NULL REFERENCES users (id),
+    message             VARCHAR(2000),
+    is_admin_response   BOOLEAN NOT NULL,
+    created_at          TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS message_attachments (
+    message_id BIGINT NOT NULL REFERENCES ticket_messages (id),
+    file_path  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_game_ids (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    game_name  VARCHAR(255) NOT NULL,
+    game_id    VARCHAR(255) NOT NULL,
+    is_default BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    UNIQUE (user_id, game_name, game_id)
+);
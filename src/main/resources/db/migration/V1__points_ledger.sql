@@ -0,0 +1,27 @@
+-- Moves balances off the users row and onto the append-only points ledger.
+-- Applied by Flyway on startup, ahead of Hibernate's ddl-auto.
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS account_id BIGINT;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS available_delta INTEGER;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS held_delta INTEGER;
+CREATE INDEX IF NOT EXISTS idx_transaction_account ON transactions (account_id, id);
+
+CREATE TABLE IF NOT EXISTS balance_snapshots (
+    id                  BIGSERIAL PRIMARY KEY,
+    user_id             BIGINT,
+    available_points    INTEGER NOT NULL,
+    held_points         INTEGER NOT NULL,
+    last_transaction_id BIGINT,
+    created_at          TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_snapshot_user_last_tx ON balance_snapshots (user_id, last_transaction_id);
+
+-- Existing ledger rows carry no deltas, so the current column values become the opening snapshot
+INSERT INTO balance_snapshots (user_id, available_points, held_points, last_transaction_id, created_at)
+SELECT u.id, u.available_points, u.held_points, COALESCE((SELECT MAX(id) FROM transactions), 0), now()
+FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM balance_snapshots s WHERE s.user_id = u.id);
+
+-- Balances are @Formula reads now; left in place, the NOT NULL columns would fail every user insert
+ALTER TABLE users DROP COLUMN IF EXISTS available_points;
+ALTER TABLE users DROP COLUMN IF EXISTS held_points;
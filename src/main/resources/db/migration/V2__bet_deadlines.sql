@@ -0,0 +1,8 @@
+-- Timestamps the deadline wheel needs to rebuild per-bet timers after a restart.
+
+ALTER TABLE bets ADD COLUMN IF NOT EXISTS accepted_at TIMESTAMP;
+ALTER TABLE bets ADD COLUMN IF NOT EXISTS result_submitted_at TIMESTAMP;
+
+-- Rebuild only reads in-flight bets
+CREATE INDEX IF NOT EXISTS idx_bet_in_flight ON bets (status)
+    WHERE status IN ('ACCEPTED', 'CODE_SHARED', 'RESULTS_SUBMITTED');
@@ -0,0 +1,4 @@
+-- Composite indexes behind the keyset-paginated bet listings (newest first by created_at, id).
+
+CREATE INDEX IF NOT EXISTS idx_bet_creator_created ON bets (creator_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_bet_acceptor_created ON bets (acceptor_id, created_at, id);
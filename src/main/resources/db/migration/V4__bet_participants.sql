@@ -0,0 +1,25 @@
+-- One row per (bet, player) so user-scoped bet queries are single-index range scans.
+
+CREATE TABLE IF NOT EXISTS bet_participants (
+    id         BIGSERIAL PRIMARY KEY,
+    user_id    BIGINT NOT NULL,
+    bet_id     BIGINT NOT NULL,
+    role       VARCHAR(16),
+    status     VARCHAR(32),
+    created_at TIMESTAMP,
+    CONSTRAINT uk_participant_bet_user UNIQUE (bet_id, user_id)
+);
+CREATE INDEX IF NOT EXISTS idx_participant_user_status ON bet_participants (user_id, status, created_at);
+CREATE INDEX IF NOT EXISTS idx_participant_user_created ON bet_participants (user_id, created_at, bet_id);
+
+INSERT INTO bet_participants (user_id, bet_id, role, status, created_at)
+SELECT b.creator_id, b.id, 'CREATOR', b.status, b.created_at FROM bets b
+ON CONFLICT (bet_id, user_id) DO NOTHING;
+
+INSERT INTO bet_participants (user_id, bet_id, role, status, created_at)
+SELECT b.acceptor_id, b.id, 'ACCEPTOR', b.status, b.created_at FROM bets b WHERE b.acceptor_id IS NOT NULL
+ON CONFLICT (bet_id, user_id) DO NOTHING;
+
+-- The per-role keyset indexes from V3 are superseded by idx_participant_user_created
+DROP INDEX IF EXISTS idx_bet_creator_created;
+DROP INDEX IF EXISTS idx_bet_acceptor_created;
@@ -0,0 +1,35 @@
+-- Moves the high-volume tables from IDENTITY/serial keys to pooled sequences so Hibernate can
+-- batch inserts. INCREMENT BY must match PooledIds.ALLOCATION_SIZE; with the pooled-lo optimizer
+-- each nextval reserves [value, value + 50). The column default stays on the sequence for native
+-- inserts, which simply take one value of a block nobody else will use.
+--
+-- transactions keeps its insert-time id: balance snapshots treat ledger ids as a watermark, and a
+-- block held by one node could surface ids below it long after the snapshot was taken.
+
+ALTER TABLE bets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bets ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS bets_id_seq;
+CREATE SEQUENCE IF NOT EXISTS bets_seq INCREMENT BY 50;
+SELECT setval('bets_seq', COALESCE((SELECT MAX(id) FROM bets), 0) + 1, false);
+ALTER TABLE bets ALTER COLUMN id SET DEFAULT nextval('bets_seq');
+
+ALTER TABLE bet_participants ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bet_participants ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS bet_participants_id_seq;
+CREATE SEQUENCE IF NOT EXISTS bet_participants_seq INCREMENT BY 50;
+SELECT setval('bet_participants_seq', COALESCE((SELECT MAX(id) FROM bet_participants), 0) + 1, false);
+ALTER TABLE bet_participants ALTER COLUMN id SET DEFAULT nextval('bet_participants_seq');
+
+ALTER TABLE ticket_messages ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ticket_messages ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS ticket_messages_id_seq;
+CREATE SEQUENCE IF NOT EXISTS ticket_messages_seq INCREMENT BY 50;
+SELECT setval('ticket_messages_seq', COALESCE((SELECT MAX(id) FROM ticket_messages), 0) + 1, false);
+ALTER TABLE ticket_messages ALTER COLUMN id SET DEFAULT nextval('ticket_messages_seq');
+
+ALTER TABLE referrals ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE referrals ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS referrals_id_seq;
+CREATE SEQUENCE IF NOT EXISTS referrals_seq INCREMENT BY 50;
+SELECT setval('referrals_seq', COALESCE((SELECT MAX(id) FROM referrals), 0) + 1, false);
+ALTER TABLE referrals ALTER COLUMN id SET DEFAULT nextval('referrals_seq');
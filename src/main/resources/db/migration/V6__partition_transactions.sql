@@ -0,0 +1,69 @@
+-- Range-partitions the ledger by month on created_at. The existing table becomes one historic
+-- partition; LedgerPartitionService creates the months ahead and archives expired ones.
+-- Run in a maintenance window: the rename and attach take ACCESS EXCLUSIVE locks.
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+-- Ids stay insert-ordered (balance snapshots use them as a watermark), now from a plain sequence
+CREATE SEQUENCE IF NOT EXISTS transactions_ledger_seq;
+SELECT setval('transactions_ledger_seq', COALESCE((SELECT MAX(id) FROM transactions_legacy), 0) + 1, false);
+
+-- Index names are global; free them for the partitioned parent. Equivalent indexes are reused
+-- when the old table is attached; the single-column user indexes are replaced.
+UPDATE transactions_legacy SET created_at = now() WHERE created_at IS NULL;
+ALTER TABLE transactions_legacy ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE transactions_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transactions_legacy ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE transactions_legacy DROP CONSTRAINT IF EXISTS transactions_pkey;
+DROP INDEX IF EXISTS idx_transaction_from_user;
+DROP INDEX IF EXISTS idx_transaction_to_user;
+ALTER INDEX IF EXISTS idx_transaction_account RENAME TO idx_transaction_legacy_account;
+ALTER INDEX IF EXISTS idx_transaction_bet RENAME TO idx_transaction_legacy_bet;
+ALTER INDEX IF EXISTS idx_transaction_created RENAME TO idx_transaction_legacy_created;
+ALTER INDEX IF EXISTS idx_transaction_type RENAME TO idx_transaction_legacy_type;
+
+CREATE TABLE transactions (
+    id              BIGINT NOT NULL DEFAULT nextval('transactions_ledger_seq'),
+    from_user_id    BIGINT,
+    to_user_id      BIGINT,
+    account_id      BIGINT,
+    points          INTEGER,
+    available_delta INTEGER,
+    held_delta      INTEGER,
+    type            VARCHAR(255),
+    bet_id          BIGINT,
+    description     VARCHAR(255),
+    created_at      TIMESTAMP NOT NULL,
+    -- The partition key has to be part of every unique constraint
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_transaction_account ON transactions (account_id, id);
+CREATE INDEX idx_transaction_from_user ON transactions (from_user_id, created_at);
+CREATE INDEX idx_transaction_to_user ON transactions (to_user_id, created_at);
+CREATE INDEX idx_transaction_bet ON transactions (bet_id);
+CREATE INDEX idx_transaction_created ON transactions (created_at);
+CREATE INDEX idx_transaction_type ON transactions (type);
+
+-- The old table keeps its rows and becomes the partition for everything before next month
+DO $$
+DECLARE
+    next_month DATE := (date_trunc('month', now()) + interval '1 month')::date;
+BEGIN
+    -- A matching CHECK lets ATTACH skip its validation scan
+    EXECUTE format('ALTER TABLE transactions_legacy ADD CONSTRAINT transactions_legacy_bound CHECK (created_at < %L)',
+                   next_month);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   next_month);
+    ALTER TABLE transactions_legacy DROP CONSTRAINT transactions_legacy_bound;
+
+    -- The month after is created up front; the service keeps adding months ahead of time
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                   'transactions_p' || to_char(next_month, 'YYYYMM'),
+                   next_month, (next_month + interval '1 month')::date);
+END $$;
+
+-- Safety net if the job falls behind; it should stay empty
+CREATE TABLE IF NOT EXISTS transactions_default PARTITION OF transactions DEFAULT;
+
+CREATE SCHEMA IF NOT EXISTS ledger_archive;
@@ -0,0 +1,122 @@
+-- Platform-wide counters for the admin dashboard, kept current by statement-level triggers so
+-- every write path (JPA, bulk JPQL, native and JDBC batch inserts) is covered in the same
+-- transaction. Each counter is striped over 16 rows by backend pid so concurrent transactions
+-- rarely wait on the same row; a reader sums the stripes.
+
+CREATE TABLE IF NOT EXISTS platform_counters (
+    name  VARCHAR(64) NOT NULL,
+    shard SMALLINT    NOT NULL,
+    value BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (name, shard)
+);
+
+-- Rows are upserted in name order so two transactions never lock stripes in opposite orders
+CREATE OR REPLACE FUNCTION users_platform_counters() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO platform_counters (name, shard, value)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT 'users.total' AS name, 1 AS delta FROM new_rows
+            UNION ALL SELECT 'users.registered:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM new_rows
+        ) d WHERE name IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET value = platform_counters.value + EXCLUDED.value;
+    ELSE
+        INSERT INTO platform_counters (name, shard, value)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT 'users.total' AS name, -1 AS delta FROM old_rows
+            UNION ALL SELECT 'users.registered:' || to_char(created_at, 'YYYY-MM-DD'), -1 FROM old_rows
+        ) d WHERE name IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET value = platform_counters.value + EXCLUDED.value;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Shared by bets, payment_requests and withdrawal_requests: TG_ARGV[0] is the counter prefix
+CREATE OR REPLACE FUNCTION status_platform_counters() RETURNS TRIGGER AS $$
+DECLARE
+    prefix TEXT := TG_ARGV[0];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO platform_counters (name, shard, value)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.total' AS name, 1 AS delta FROM new_rows
+            UNION ALL SELECT prefix || '.created:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM new_rows
+            UNION ALL SELECT prefix || '.status:' || status, 1 FROM new_rows
+        ) d WHERE name IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET value = platform_counters.value + EXCLUDED.value;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO platform_counters (name, shard, value)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.status:' || o.status AS name, -1 AS delta
+            FROM old_rows o JOIN new_rows n ON n.id = o.id WHERE o.status IS DISTINCT FROM n.status
+            UNION ALL
+            SELECT prefix || '.status:' || n.status, 1
+            FROM old_rows o JOIN new_rows n ON n.id = o.id WHERE o.status IS DISTINCT FROM n.status
+        ) d WHERE name IS NOT NULL GROUP BY name HAVING SUM(delta) <> 0 ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET value = platform_counters.value + EXCLUDED.value;
+    ELSE
+        INSERT INTO platform_counters (name, shard, value)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.total' AS name, -1 AS delta FROM old_rows
+            UNION ALL SELECT prefix || '.created:' || to_char(created_at, 'YYYY-MM-DD'), -1 FROM old_rows
+            UNION ALL SELECT prefix || '.status:' || status, -1 FROM old_rows
+        ) d WHERE name IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET value = platform_counters.value + EXCLUDED.value;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_counters_insert ON users;
+DROP TRIGGER IF EXISTS users_counters_delete ON users;
+CREATE TRIGGER users_counters_insert AFTER INSERT ON users
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION users_platform_counters();
+CREATE TRIGGER users_counters_delete AFTER DELETE ON users
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION users_platform_counters();
+
+DROP TRIGGER IF EXISTS bets_counters_insert ON bets;
+DROP TRIGGER IF EXISTS bets_counters_update ON bets;
+DROP TRIGGER IF EXISTS bets_counters_delete ON bets;
+CREATE TRIGGER bets_counters_insert AFTER INSERT ON bets
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('bets');
+CREATE TRIGGER bets_counters_update AFTER UPDATE ON bets
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('bets');
+CREATE TRIGGER bets_counters_delete AFTER DELETE ON bets
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('bets');
+
+DROP TRIGGER IF EXISTS payments_counters_insert ON payment_requests;
+DROP TRIGGER IF EXISTS payments_counters_update ON payment_requests;
+DROP TRIGGER IF EXISTS payments_counters_delete ON payment_requests;
+CREATE TRIGGER payments_counters_insert AFTER INSERT ON payment_requests
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('payments');
+CREATE TRIGGER payments_counters_update AFTER UPDATE ON payment_requests
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('payments');
+CREATE TRIGGER payments_counters_delete AFTER DELETE ON payment_requests
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('payments');
+
+DROP TRIGGER IF EXISTS withdrawals_counters_insert ON withdrawal_requests;
+DROP TRIGGER IF EXISTS withdrawals_counters_update ON withdrawal_requests;
+DROP TRIGGER IF EXISTS withdrawals_counters_delete ON withdrawal_requests;
+CREATE TRIGGER withdrawals_counters_insert AFTER INSERT ON withdrawal_requests
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('withdrawals');
+CREATE TRIGGER withdrawals_counters_update AFTER UPDATE ON withdrawal_requests
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('withdrawals');
+CREATE TRIGGER withdrawals_counters_delete AFTER DELETE ON withdrawal_requests
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION status_platform_counters('withdrawals');
+
+-- Backfill into stripe 0; the triggers above already see writes from here on
+LOCK TABLE users, bets, payment_requests, withdrawal_requests IN SHARE MODE;
+DELETE FROM platform_counters;
+INSERT INTO platform_counters (name, shard, value)
+SELECT name, 0, SUM(delta) FROM (
+    SELECT 'users.total' AS name, 1 AS delta FROM users
+    UNION ALL SELECT 'users.registered:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM users
+    UNION ALL SELECT 'bets.total', 1 FROM bets
+    UNION ALL SELECT 'bets.created:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM bets
+    UNION ALL SELECT 'bets.status:' || status, 1 FROM bets
+    UNION ALL SELECT 'payments.total', 1 FROM payment_requests
+    UNION ALL SELECT 'payments.created:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM payment_requests
+    UNION ALL SELECT 'payments.status:' || status, 1 FROM payment_requests
+    UNION ALL SELECT 'withdrawals.total', 1 FROM withdrawal_requests
+    UNION ALL SELECT 'withdrawals.created:' || to_char(created_at, 'YYYY-MM-DD'), 1 FROM withdrawal_requests
+    UNION ALL SELECT 'withdrawals.status:' || status, 1 FROM withdrawal_requests
+) d WHERE name IS NOT NULL GROUP BY name;
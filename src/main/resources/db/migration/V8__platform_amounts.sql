@@ -0,0 +1,82 @@
+-- Running amount totals for payments and withdrawals, per status. Approve and reject are status
+-- updates, so the trigger moves a request's amount from PENDING to its new status in the same
+-- transaction. Striped like platform_counters (V7).
+
+CREATE TABLE IF NOT EXISTS platform_amounts (
+    name   VARCHAR(64)    NOT NULL,
+    shard  SMALLINT       NOT NULL,
+    amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (name, shard)
+);
+
+-- TG_ARGV[0] is the name prefix: 'payments' or 'withdrawals'
+CREATE OR REPLACE FUNCTION amount_platform_totals() RETURNS TRIGGER AS $$
+DECLARE
+    prefix TEXT := TG_ARGV[0];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO platform_amounts (name, shard, amount)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.amount' AS name, amount AS delta FROM new_rows
+            UNION ALL SELECT prefix || '.amount:' || status, amount FROM new_rows
+        ) d WHERE name IS NOT NULL AND delta IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET amount = platform_amounts.amount + EXCLUDED.amount;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO platform_amounts (name, shard, amount)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.amount' AS name, COALESCE(n.amount, 0) - COALESCE(o.amount, 0) AS delta
+            FROM old_rows o JOIN new_rows n ON n.id = o.id
+            UNION ALL SELECT prefix || '.amount:' || o.status, -o.amount
+            FROM old_rows o JOIN new_rows n ON n.id = o.id
+            WHERE o.status IS DISTINCT FROM n.status OR o.amount IS DISTINCT FROM n.amount
+            UNION ALL SELECT prefix || '.amount:' || n.status, n.amount
+            FROM old_rows o JOIN new_rows n ON n.id = o.id
+            WHERE o.status IS DISTINCT FROM n.status OR o.amount IS DISTINCT FROM n.amount
+        ) d WHERE name IS NOT NULL AND delta IS NOT NULL GROUP BY name HAVING SUM(delta) <> 0 ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET amount = platform_amounts.amount + EXCLUDED.amount;
+    ELSE
+        INSERT INTO platform_amounts (name, shard, amount)
+        SELECT name, pg_backend_pid() % 16, SUM(delta) FROM (
+            SELECT prefix || '.amount' AS name, -amount AS delta FROM old_rows
+            UNION ALL SELECT prefix || '.amount:' || status, -amount FROM old_rows
+        ) d WHERE name IS NOT NULL AND delta IS NOT NULL GROUP BY name ORDER BY name
+        ON CONFLICT (name, shard) DO UPDATE SET amount = platform_amounts.amount + EXCLUDED.amount;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS payments_amounts_insert ON payment_requests;
+DROP TRIGGER IF EXISTS payments_amounts_update ON payment_requests;
+DROP TRIGGER IF EXISTS payments_amounts_delete ON payment_requests;
+CREATE TRIGGER payments_amounts_insert AFTER INSERT ON payment_requests
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('payments');
+CREATE TRIGGER payments_amounts_update AFTER UPDATE ON payment_requests
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('payments');
+CREATE TRIGGER payments_amounts_delete AFTER DELETE ON payment_requests
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('payments');
+
+DROP TRIGGER IF EXISTS withdrawals_amounts_insert ON withdrawal_requests;
+DROP TRIGGER IF EXISTS withdrawals_amounts_update ON withdrawal_requests;
+DROP TRIGGER IF EXISTS withdrawals_amounts_delete ON withdrawal_requests;
+CREATE TRIGGER withdrawals_amounts_insert AFTER INSERT ON withdrawal_requests
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('withdrawals');
+CREATE TRIGGER withdrawals_amounts_update AFTER UPDATE ON withdrawal_requests
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('withdrawals');
+CREATE TRIGGER withdrawals_amounts_delete AFTER DELETE ON withdrawal_requests
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION amount_platform_totals('withdrawals');
+
+-- The per-day SUMs range over created_at and read status and amount from the index alone
+CREATE INDEX IF NOT EXISTS idx_payment_created_amount
+    ON payment_requests (created_at) INCLUDE (status, amount);
+CREATE INDEX IF NOT EXISTS idx_withdrawal_created_amount
+    ON withdrawal_requests (created_at) INCLUDE (status, amount);
+
+LOCK TABLE payment_requests, withdrawal_requests IN SHARE MODE;
+DELETE FROM platform_amounts;
+INSERT INTO platform_amounts (name, shard, amount)
+SELECT name, 0, SUM(delta) FROM (
+    SELECT 'payments.amount' AS name, amount AS delta FROM payment_requests
+    UNION ALL SELECT 'payments.amount:' || status, amount FROM payment_requests
+    UNION ALL SELECT 'withdrawals.amount', amount FROM withdrawal_requests
+    UNION ALL SELECT 'withdrawals.amount:' || status, amount FROM withdrawal_requests
+) d WHERE name IS NOT NULL AND delta IS NOT NULL GROUP BY name;
@@ -0,0 +1,139 @@
+package com.kore.king.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.kore.king.config.ActiveReferralCodec;
+import com.kore.king.config.BetPageCodec;
+import com.kore.king.config.BinaryCacheSerializer;
+import com.kore.king.config.EmptyPageCodec;
+import com.kore.king.config.LobbyBetPageCodec;
+import com.kore.king.config.StatsMapCodec;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.User;
+
+/**
+ * Binary cache codec vs the JSON serializer it replaced, on an availableBets page and the admin
+ * dashboard map. Encoded sizes are printed once at setup. Run main() from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private RedisSerializer<Object> serializer;
+    private Page<Bet> page;
+    private Map<String, Object> dashboard;
+    private byte[] encodedPage;
+    private byte[] encodedDashboard;
+
+    @Setup
+    public void setUp() {
+        serializer = "json".equals(codec)
+                ? BinaryCacheSerializer.jsonSerializer()
+                : new BinaryCacheSerializer(List.of(new StatsMapCodec(), new BetPageCodec(),
+                    new LobbyBetPageCodec(), new EmptyPageCodec(), new ActiveReferralCodec()), 1024);
+        page = betPage(pageSize);
+        dashboard = dashboard();
+        encodedPage = serializer.serialize(page);
+        encodedDashboard = serializer.serialize(dashboard);
+        System.out.printf("%n%s: page of %d = %d bytes, dashboard = %d bytes%n",
+                codec, pageSize, encodedPage.length, encodedDashboard.length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserializePage() {
+        return serializer.deserialize(encodedPage);
+    }
+
+    @Benchmark
+    public byte[] serializeDashboard() {
+        return serializer.serialize(dashboard);
+    }
+
+    @Benchmark
+    public Object deserializeDashboard() {
+        return serializer.deserialize(encodedDashboard);
+    }
+
+    private static Page<Bet> betPage(int size) {
+        List<Bet> bets = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            User creator = new User();
+            creator.setId(1000L + i);
+            creator.setUsername("player" + i);
+
+            Bet bet = new Bet();
+            bet.setId((long) i);
+            bet.setTitle("1v1 best of three #" + i);
+            bet.setDescription("No rematches, screenshots required");
+            bet.setPoints(50 * (i % 20 + 1));
+            bet.setGameType(i % 2 == 0 ? "chess" : "8ball");
+            bet.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 0).plusSeconds(i * 37L));
+            bet.setExpiresAt(LocalDateTime.of(2024, 5, 1, 13, 0).plusSeconds(i * 37L));
+            bet.setCreator(creator);
+            bets.add(bet);
+        }
+        return new PageImpl<>(bets, PageRequest.of(0, size), size * 10L);
+    }
+
+    private static Map<String, Object> dashboard() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", 48_211L);
+        stats.put("todayRegistrations", 312L);
+        stats.put("totalBets", 1_204_877L);
+        stats.put("activeBets", 2_931L);
+        stats.put("completedBets", 1_150_020L);
+        stats.put("disputedBets", 411L);
+        stats.put("pendingPayments", 27L);
+        stats.put("totalPaymentAmount", new BigDecimal("9120455.50"));
+        stats.put("pendingWithdrawals", 14L);
+        stats.put("totalWithdrawalAmount", new BigDecimal("7001233.25"));
+        stats.put("openTickets", 9L);
+        stats.put("platformRevenue", 364_818.42);
+        return stats;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,177 @@
+package com.kore.king.config;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.kore.king.dto.ActiveReferral;
+import com.kore.king.dto.LobbyBet;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCacheSerializerTest {
+
+    private final BinaryCacheSerializer serializer =
+            new BinaryCacheSerializer(List.of(new StatsMapCodec(), new BetPageCodec(),
+                    new LobbyBetPageCodec(), new EmptyPageCodec(), new ActiveReferralCodec()), 1024);
+
+    @Test
+    void betPage_ShouldRoundTripTheRenderedFields() {
+        Page<Bet> page = betPage(3);
+
+        @SuppressWarnings("unchecked")
+        Page<Bet> decoded = (Page<Bet>) serializer.deserialize(serializer.serialize(page));
+
+        assertThat(decoded.getNumber()).isEqualTo(0);
+        assertThat(decoded.getSize()).isEqualTo(20);
+        assertThat(decoded.getTotalElements()).isEqualTo(3);
+        Bet bet = decoded.getContent().get(1);
+        assertThat(bet.getId()).isEqualTo(2L);
+        assertThat(bet.getTitle()).isEqualTo("Bet 2");
+        assertThat(bet.getStatus()).isEqualTo(BetStatus.PENDING);
+        assertThat(bet.getCreatedAt()).isEqualTo(page.getContent().get(1).getCreatedAt());
+        assertThat(bet.getCreator().getUsername()).isEqualTo("creator2");
+        assertThat(bet.getAcceptor()).isNull();
+    }
+
+    @Test
+    void betPage_ShouldKeepItsSort() {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("title").ignoreCase());
+        Page<Bet> page = new PageImpl<>(betPage(3).getContent(), PageRequest.of(1, 3, sort), 9);
+
+        Page<?> decoded = (Page<?>) serializer.deserialize(serializer.serialize(page));
+
+        assertThat(decoded.getPageable()).isEqualTo(PageRequest.of(1, 3, sort));
+        assertThat(decoded.getTotalElements()).isEqualTo(9);
+    }
+
+    @Test
+    void lobbyPage_ShouldRoundTripEveryCardField() {
+        LobbyBet card = new LobbyBet(7L, "Ludo", "Best of three", 250, "ludo",
+                LocalDateTime.of(2024, 5, 1, 12, 0), LocalDateTime.of(2024, 5, 1, 13, 0), 3L, "alice");
+        Page<LobbyBet> page = new PageImpl<>(List.of(card), PageRequest.of(0, 10), 1);
+
+        @SuppressWarnings("unchecked")
+        Page<LobbyBet> decoded = (Page<LobbyBet>) serializer.deserialize(serializer.serialize(page));
+
+        assertThat(decoded.getContent()).singleElement()
+                .usingRecursiveComparison().isEqualTo(card);
+        assertThat(decoded.getPageable()).isEqualTo(page.getPageable());
+    }
+
+    @Test
+    void activeReferral_ShouldRoundTripBothIds() {
+        byte[] bytes = serializer.serialize(new ActiveReferral(10L, 3L));
+        ActiveReferral decoded = (ActiveReferral) serializer.deserialize(bytes);
+
+        assertThat(bytes[3]).isEqualTo((byte) new ActiveReferralCodec().typeId());
+        assertThat(decoded.getReferralId()).isEqualTo(10L);
+        assertThat(decoded.getReferrerId()).isEqualTo(3L);
+    }
+
+    @Test
+    void emptyPage_ShouldRoundTripWithoutTheBetCodec() {
+        Page<Bet> page = new PageImpl<>(List.of(), PageRequest.of(2, 20, Sort.by("createdAt")), 40);
+
+        byte[] bytes = serializer.serialize(page);
+        Page<?> decoded = (Page<?>) serializer.deserialize(bytes);
+
+        assertThat(bytes[3]).isEqualTo((byte) new EmptyPageCodec().typeId());
+        assertThat(decoded.getContent()).isEmpty();
+        assertThat(decoded.getPageable()).isEqualTo(page.getPageable());
+        assertThat(decoded.getTotalElements()).isEqualTo(40);
+    }
+
+    @Test
+    void statsMap_ShouldKeepValueTypes() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", 12L);
+        stats.put("openTickets", 3);
+        stats.put("totalPaymentAmount", new BigDecimal("1234.50"));
+        stats.put("platformRevenue", 12.5);
+        stats.put("note", null);
+
+        Object decoded = serializer.deserialize(serializer.serialize(stats));
+
+        assertThat(decoded).isEqualTo(stats);
+        assertThat(((Map<?, ?>) decoded).get("totalUsers")).isInstanceOf(Long.class);
+    }
+
+    @Test
+    void largeValues_ShouldBeCompressedAndSmallerThanJson() {
+        Page<Bet> page = betPage(50);
+
+        byte[] binary = serializer.serialize(page);
+        byte[] json = BinaryCacheSerializer.jsonSerializer().serialize(page);
+
+        assertThat(binary[1]).isEqualTo((byte) 1);
+        assertThat(binary.length).isLessThan(json.length / 4);
+        assertThat(((Page<?>) serializer.deserialize(binary)).getContent()).hasSize(50);
+    }
+
+    @Test
+    void valuesWithoutACodec_ShouldKeepJavaTimeFieldsInJson() {
+        Bet bet = betPage(1).getContent().get(0);
+
+        Bet decoded = (Bet) serializer.deserialize(serializer.serialize(bet));
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(bet.getCreatedAt());
+    }
+
+    @Test
+    void valuesWithoutACodec_ShouldFallBackToJson() {
+        List<String> value = new ArrayList<>(List.of("a", "b"));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(BinaryCacheSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void legacyJsonValues_ShouldStillBeReadable() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", 12L);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(stats);
+
+        Object decoded = serializer.deserialize(legacy);
+
+        assertThat(decoded).isInstanceOf(Map.class);
+        assertThat(((Number) ((Map<?, ?>) decoded).get("totalUsers")).longValue()).isEqualTo(12L);
+    }
+
+    static Page<Bet> betPage(int size) {
+        List<Bet> bets = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            User creator = new User();
+            creator.setId(100L + i);
+            creator.setUsername("creator" + i);
+
+            Bet bet = new Bet();
+            bet.setId((long) i);
+            bet.setTitle("Bet " + i);
+            bet.setDescription("Best of three, no rematches");
+            bet.setPoints(100 * i);
+            bet.setGameType("chess");
+            bet.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 0).plusMinutes(i));
+            bet.setExpiresAt(LocalDateTime.of(2024, 5, 1, 13, 0).plusMinutes(i));
+            bet.setCreator(creator);
+            bets.add(bet);
+        }
+        return new PageImpl<>(bets, PageRequest.of(0, 20), size);
+    }
+}
@@ -0,0 +1,100 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void get_AfterTtl_ShouldMiss() {
+        LocalCache cache = LocalCache.create("availableBets", spec(Duration.ofSeconds(30), 100, null), nanos::get, Runnable::run);
+        cache.put("page0", "bets");
+
+        advance(29, TimeUnit.SECONDS);
+        assertThat(cache.get("page0")).isNotNull();
+
+        advance(2, TimeUnit.SECONDS);
+        assertThat(cache.get("page0")).isNull();
+    }
+
+    @Test
+    void put_BeyondMaximumSize_ShouldEvict() {
+        LocalCache cache = LocalCache.create("availableBets", spec(Duration.ofMinutes(5), 10, null), nanos::get, Runnable::run);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("page" + i, i);
+        }
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat(nativeCache.stats().evictionCount()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void get_AfterRefreshAfterWrite_ShouldReplayTheLoaderAndKeepServing() {
+        // Reloads are queued and run by hand, as a background executor would run them later
+        Queue<Runnable> reloads = new ArrayDeque<>();
+        LocalCache cache = LocalCache.create("adminStats",
+                spec(Duration.ofMinutes(2), 100, Duration.ofSeconds(10)), nanos::get, reloads::add);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("dashboard", loads::incrementAndGet)).isEqualTo(1);
+        advance(11, TimeUnit.SECONDS);
+
+        // The read that notices the entry is due still gets the old value and schedules the reload
+        assertThat(cache.get("dashboard").get()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+
+        drain(reloads);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("dashboard").get()).isEqualTo(2);
+
+        // Refreshing resets the write time, so the TTL is measured from the reload
+        advance(90, TimeUnit.SECONDS);
+        assertThat(cache.get("dashboard")).isNotNull();
+    }
+
+    @Test
+    void get_AfterRefreshAfterWrite_WithoutALoader_ShouldDropTheEntry() {
+        LocalCache cache = LocalCache.create("adminStats",
+                spec(Duration.ofMinutes(2), 100, Duration.ofSeconds(10)), nanos::get, Runnable::run);
+        cache.put("dashboard", "stats");
+        advance(11, TimeUnit.SECONDS);
+
+        cache.get("dashboard");
+
+        assertThat(cache.get("dashboard")).isNull();
+    }
+
+    private static void drain(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void advance(long amount, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(amount));
+    }
+
+    private LocalCacheProperties.Spec spec(Duration ttl, long maximumSize, Duration refreshAfterWrite) {
+        LocalCacheProperties.Spec spec = new LocalCacheProperties.Spec();
+        spec.setTtl(ttl);
+        spec.setMaximumSize(maximumSize);
+        spec.setRefreshAfterWrite(refreshAfterWrite);
+        return spec;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kore.king.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and fails a block that
+ * goes over its budget. Registered as the session factory's StatementInspector by
+ * {@link QueryBudgetConfig}.
+ */
+public final class QueryBudget implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static <T> T assertAtMost(int budget, Supplier<T> block) {
+        List<String> statements = new ArrayList<>();
+        List<String> outer = STATEMENTS.get();
+        STATEMENTS.set(statements);
+        try {
+            T result = block.get();
+            if (statements.size() > budget) {
+                throw new AssertionError("Query budget of " + budget + " exceeded: " + statements.size()
+                        + " statements\n  " + String.join("\n  ", statements));
+            }
+            return result;
+        } finally {
+            if (outer != null) {
+                outer.addAll(statements);
+                STATEMENTS.set(outer);
+            } else {
+                STATEMENTS.remove();
+            }
+        }
+    }
+
+    public static void assertAtMost(int budget, Runnable block) {
+        assertAtMost(budget, () -> {
+            block.run();
+            return null;
+        });
+    }
+}
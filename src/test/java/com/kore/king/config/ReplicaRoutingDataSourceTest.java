@@ -0,0 +1,158 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two independent Postgres instances stand in for a primary and its replica; each query
+// reports which one served it through current_database()
+@Testcontainers
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+            .withDatabaseName("primary_db");
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+            .withDatabaseName("replica_db");
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadYourWritesPins pins = new ReadYourWritesPins(Duration.ofSeconds(30));
+
+    @BeforeAll
+    static void startPools() {
+        primaryPool = pool(primary);
+        replicaPool = pool(replica);
+    }
+
+    @AfterAll
+    static void closePools() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldGoToTheReplica() {
+        Routing routing = routing(List.of(new ReplicaRoutingDataSource.Replica("r1", replicaPool)));
+
+        assertThat(routing.currentDatabase(true)).isEqualTo("replica_db");
+        assertThat(routing.currentDatabase(false)).isEqualTo("primary_db");
+        assertThat(registry.get("betking.datasource.reads").tag("target", "r1").counter().count()).isEqualTo(1);
+        assertThat(registry.get("betking.datasource.replica.healthy").tag("replica", "r1").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("betking.datasource.replica.lag").tag("replica", "r1").gauge().value()).isZero();
+    }
+
+    @Test
+    void readsAfterAWrite_ShouldStayOnThePrimaryForTheSession() {
+        Routing routing = routing(List.of(new ReplicaRoutingDataSource.Replica("r1", replicaPool)));
+        authenticate("alice");
+
+        routing.currentDatabase(false);
+
+        assertThat(routing.currentDatabase(true)).isEqualTo("primary_db");
+
+        authenticate("bob");
+        assertThat(routing.currentDatabase(true)).isEqualTo("replica_db");
+    }
+
+    @Test
+    void unreachableReplica_ShouldBeSkippedAndReportedUnhealthy() {
+        HikariDataSource down = new HikariDataSource();
+        down.setJdbcUrl("jdbc:postgresql://localhost:1/none");
+        down.setConnectionTimeout(250);
+        down.setInitializationFailTimeout(-1);
+        try {
+            Routing routing = routing(List.of(
+                    new ReplicaRoutingDataSource.Replica("down", down),
+                    new ReplicaRoutingDataSource.Replica("r1", replicaPool)));
+
+            for (int i = 0; i < 4; i++) {
+                assertThat(routing.currentDatabase(true)).isEqualTo("replica_db");
+            }
+            assertThat(registry.get("betking.datasource.replica.healthy").tag("replica", "down").gauge().value()).isZero();
+        } finally {
+            down.close();
+        }
+    }
+
+    @Test
+    void withNoHealthyReplica_ReadsShouldFallBackToThePrimary() {
+        Routing routing = routing(List.of());
+
+        assertThat(routing.currentDatabase(true)).isEqualTo("primary_db");
+        assertThat(registry.get("betking.datasource.reads").tag("target", "primary").counter().count()).isEqualTo(1);
+    }
+
+    private Routing routing(List<ReplicaRoutingDataSource.Replica> replicas) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primaryPool, replicas, pins, 2.0, registry);
+        router.checkReplicas();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryPool);
+        dataSource.setReadOnlyDataSource(router);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(pins);
+        return new Routing(dataSource, transactionManager);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private static final class Routing {
+        private final JdbcTemplate jdbcTemplate;
+        private final DataSourceTransactionManager transactionManager;
+
+        private Routing(DataSource dataSource, DataSourceTransactionManager transactionManager) {
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionManager = transactionManager;
+        }
+
+        String currentDatabase(boolean readOnly) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void get_WithConcurrentMisses_ShouldLoadOnceAndShareTheResult() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("adminStats"), Duration.ofSeconds(5), registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.get("dashboard", () -> {
+                release.await();
+                return loads.incrementAndGet();
+            })));
+        }
+        awaitCount("collapsed", 7);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("load")).isEqualTo(1);
+        assertThat(cache.get("dashboard").get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenTheLoadOutlastsTheTimeout_ShouldGiveUpWaiting() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("adminStats"), Duration.ofMillis(50), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = callers.submit(() -> cache.get("dashboard", () -> {
+            release.await();
+            return 1;
+        }));
+        awaitCount("load", 1);
+
+        assertThatThrownBy(() -> cache.get("dashboard", () -> 2))
+                .isInstanceOf(Cache.ValueRetrievalException.class);
+        assertThat(count("timeout")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenTheLoadFails_ShouldFailEveryWaiterAndLetTheNextCallerRetry() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("adminStats"), Duration.ofSeconds(5), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = callers.submit(() -> cache.get("dashboard", () -> {
+            release.await();
+            throw new IllegalStateException("database down");
+        }));
+        awaitCount("load", 1);
+        Future<Integer> follower = callers.submit(() -> cache.get("dashboard", () -> 2));
+        awaitCount("collapsed", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThat(cache.get("dashboard", () -> 3)).isEqualTo(3);
+    }
+
+    private double count(String outcome) {
+        return registry.get("betking.cache.single_flight").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected) {
+            assertThat(System.nanoTime()).as("%s count within 5s", outcome).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
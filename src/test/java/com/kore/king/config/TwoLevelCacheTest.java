@@ -0,0 +1,188 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// One Redis container is the shared L2; two Node instances stand in for two application nodes
+@Testcontainers
+class TwoLevelCacheTest {
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        new StringRedisTemplate(nodeA.connectionFactory).execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void get_AfterTheFirstRead_ShouldBeServedFromMemory() {
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(nodeA.cache.get("dashboard", loads::incrementAndGet)).isEqualTo(1);
+        // The load is announced too; let it land before node B fills its L1
+        awaitTrue(() -> nodeB.received() == 1);
+        assertThat(nodeB.cache.get("dashboard", loads::incrementAndGet)).isEqualTo(1);
+
+        // Gone from Redis, still served by both L1s
+        new StringRedisTemplate(nodeA.connectionFactory).delete("adminStats::dashboard");
+
+        assertThat(nodeA.cache.get("dashboard").get()).isEqualTo(1);
+        assertThat(nodeB.cache.get("dashboard").get()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evict_ShouldDropTheEntryFromOtherNodes() {
+        nodeA.cache.put("dashboard", "v1");
+        assertThat(nodeB.cache.get("dashboard").get()).isEqualTo("v1");
+
+        nodeA.cache.evict("dashboard");
+
+        awaitTrue(() -> nodeB.local().get("dashboard") == null);
+        assertThat(nodeB.cache.get("dashboard")).isNull();
+    }
+
+    @Test
+    void put_ShouldReplaceStaleCopiesOnOtherNodes() {
+        nodeA.cache.put("dashboard", "v1");
+        assertThat(nodeB.cache.get("dashboard").get()).isEqualTo("v1");
+
+        nodeA.cache.put("dashboard", "v2");
+
+        awaitTrue(() -> nodeB.local().get("dashboard") == null);
+        assertThat(nodeB.cache.get("dashboard").get()).isEqualTo("v2");
+    }
+
+    @Test
+    void get_WhenEvictedWhileLoading_ShouldNotWriteTheLoadToL2() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> load = CompletableFuture.supplyAsync(() -> nodeA.cache.get("dashboard", () -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "stale";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The eviction drops L2, then waits on L1 behind the load
+        Thread evictor = new Thread(() -> nodeA.cache.evict("dashboard"));
+        evictor.start();
+        awaitTrue(() -> evictor.getState() == Thread.State.BLOCKED);
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        evictor.join(5000);
+        assertThat(new StringRedisTemplate(nodeA.connectionFactory).hasKey("adminStats::dashboard")).isFalse();
+        assertThat(nodeB.cache.get("dashboard")).isNull();
+    }
+
+    @Test
+    void clear_ShouldEmptyEveryNodesL1() {
+        nodeA.cache.put("dashboard", "v1");
+        nodeA.cache.put("recentActivity", "v1");
+        nodeB.cache.get("dashboard");
+        nodeB.cache.get("recentActivity");
+
+        nodeA.cache.clear();
+
+        awaitTrue(() -> nodeB.local().getNativeCache().estimatedSize() == 0);
+        assertThat(nodeB.cache.get("dashboard")).isNull();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final JedisConnectionFactory connectionFactory;
+        private final RedisMessageListenerContainer listener;
+        private final TwoLevelCache cache;
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        private Node() {
+            connectionFactory = new JedisConnectionFactory(
+                    new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+
+            CacheInvalidations invalidations = new CacheInvalidations(connectionFactory, registry);
+            listener = new RedisMessageListenerContainer();
+            listener.setConnectionFactory(connectionFactory);
+            listener.addMessageListener(invalidations, new ChannelTopic(CacheInvalidations.CHANNEL));
+            listener.afterPropertiesSet();
+            listener.start();
+
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                    .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(2)))
+                    .build();
+            Cache shared = redisCacheManager.getCache("adminStats");
+
+            LocalCacheProperties properties = new LocalCacheProperties();
+            cache = new TwoLevelCache("adminStats",
+                    LocalCache.create("adminStats", properties.l1SpecFor("adminStats", Duration.ofMinutes(2))),
+                    shared, invalidations);
+            invalidations.register(cache);
+        }
+
+        private double received() {
+            return registry.get("betking.cache.invalidations").tag("direction", "received").counter().count();
+        }
+
+        private LocalCache local() {
+            return cache.getLocal();
+        }
+
+        private void stop() {
+            listener.stop();
+            connectionFactory.destroy();
+        }
+    }
+}
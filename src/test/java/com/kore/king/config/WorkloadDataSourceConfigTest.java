@@ -0,0 +1,63 @@
+package com.kore.king.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadDataSourceConfigTest {
+
+    @Test
+    void maximumPoolSize_ShouldPreferThePoolsOwnSize() {
+        WorkloadProperties.Pool pool = new WorkloadProperties.Pool(4, Duration.ofSeconds(2), null);
+
+        assertThat(WorkloadDataSourceConfig.maximumPoolSize(WorkloadClass.REPORTING, pool, 20)).isEqualTo(4);
+    }
+
+    @Test
+    void maximumPoolSize_WithoutAPoolSize_ShouldUseTheHikariSize() {
+        WorkloadProperties properties = new WorkloadProperties();
+
+        assertThat(WorkloadDataSourceConfig.maximumPoolSize(WorkloadClass.REPORTING,
+                properties.getPool(WorkloadClass.REPORTING), 20)).isEqualTo(20);
+    }
+
+    @Test
+    void maximumPoolSize_WithNoSizeAnywhere_ShouldFailFast() {
+        assertThatThrownBy(() -> WorkloadDataSourceConfig.maximumPoolSize(WorkloadClass.INTERACTIVE_READ,
+                new WorkloadProperties.Pool(), 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.datasource.workloads.pools.interactive-read.maximum-pool-size");
+    }
+
+    @Test
+    void createPool_ShouldKeepTheHikariDefaultsUnderThePoolsOwnSettings() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "spring.datasource.hikari.minimum-idle", "3",
+                "spring.datasource.hikari.max-lifetime", "1800000",
+                "spring.datasource.hikari.idle-timeout", "600000",
+                "spring.datasource.hikari.connection-timeout", "30000")));
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:postgresql://localhost:5432/betking");
+
+        try (HikariDataSource pool = WorkloadDataSourceConfig.createPool(WorkloadClass.REPORTING,
+                new WorkloadProperties.Pool(2, Duration.ofSeconds(2), Duration.ofSeconds(30)),
+                dataSourceProperties, binder, 20)) {
+            assertThat(pool.getPoolName()).isEqualTo("reporting");
+            assertThat(pool.getMaximumPoolSize()).isEqualTo(2);
+            assertThat(pool.getConnectionTimeout()).isEqualTo(2000);
+            assertThat(pool.getMinimumIdle()).isEqualTo(3);
+            assertThat(pool.getMaxLifetime()).isEqualTo(1800000);
+            assertThat(pool.getIdleTimeout()).isEqualTo(600000);
+            assertThat(pool.getConnectionInitSql()).isEqualTo("SET statement_timeout = 30000");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kore.king.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final DataSource transactional = mock(DataSource.class);
+    private final DataSource reporting = mock(DataSource.class);
+
+    private final WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(Map.of(
+            WorkloadClass.TRANSACTIONAL, transactional,
+            WorkloadClass.REPORTING, reporting));
+
+    @Test
+    void getConnection_ShouldUseTheTransactionalPoolByDefault() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(transactional.getConnection()).thenReturn(connection);
+
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+        verifyNoInteractions(reporting);
+    }
+
+    @Test
+    void getConnection_InsideAWorkload_ShouldUseThatWorkloadsPool() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(reporting.getConnection()).thenReturn(connection);
+
+        Connection borrowed = WorkloadContext.call(WorkloadClass.REPORTING, () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(borrowed).isSameAs(connection);
+        assertThat(WorkloadContext.current()).isEqualTo(WorkloadClass.TRANSACTIONAL);
+        verifyNoInteractions(transactional);
+    }
+
+    @Test
+    void getConnection_ForAWorkloadWithoutAPool_ShouldFallBackToTransactional() throws SQLException {
+        WorkloadContext.call(WorkloadClass.INTERACTIVE_READ, () -> dataSource.poolFor(WorkloadContext.current()))
+                .getConnection();
+
+        verify(transactional).getConnection();
+    }
+
+    @Test
+    void constructor_WithoutATransactionalPool_ShouldFail() {
+        assertThatThrownBy(() -> new WorkloadRoutingDataSource(Map.of(WorkloadClass.REPORTING, reporting)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
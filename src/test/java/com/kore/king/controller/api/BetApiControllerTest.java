@@ -0,0 +1,113 @@
+package com.kore.king.controller.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kore.king.dto.BatchBetResult;
+import com.kore.king.dto.CreateBetRequest;
+import com.kore.king.entity.User;
+import com.kore.king.mapper.BetMapper;
+import com.kore.king.service.BetService;
+import com.kore.king.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BetApiController.class)
+class BetApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BetService betService;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private BetMapper betMapper;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBets_WithValidBatch_ShouldCreateBets() throws Exception {
+        // Arrange
+        when(userService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(betService.createBets(eq(1L), anyList())).thenReturn(List.of(BatchBetResult.created(0, 10L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/bets/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request(100, "Ludo")))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBets_WithInvalidBet_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/bets/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request(100, "Ludo"), request(0, " ")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+        verify(betService, never()).createBets(any(), anyList());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBets_OverTheBatchLimit_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        List<CreateBetRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= BetApiController.MAX_BATCH_SIZE; i++) {
+            requests.add(request(100, "Ludo"));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/bets/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BATCH_TOO_LARGE"));
+        verify(betService, never()).createBets(any(), anyList());
+    }
+
+    private static CreateBetRequest request(int points, String gameType) {
+        CreateBetRequest request = new CreateBetRequest();
+        request.setPoints(points);
+        request.setGameType(gameType);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kore.king.integration;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kore.king.dto.CreateBetRequest;
+import com.kore.king.entity.User;
+import com.kore.king.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The "replica" is a read-only pool on the primary's own database: it sees every row, and any
+// write that is routed to it fails, so a misrouted write shows up as an error
+@Testcontainers
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.replicas[0].name=replica1"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+            .withDatabaseName("betking_test");
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.datasource.replicas[0].url", postgres::getJdbcUrl);
+        registry.add("app.datasource.replicas[0].username", postgres::getUsername);
+        registry.add("app.datasource.replicas[0].password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bets");
+        creator = new User();
+        creator.setUsername("creator" + System.nanoTime());
+        creator.setEmail(creator.getUsername() + "@test.com");
+        creator.setPassword("password");
+        creator = userService.registerUser(creator);
+    }
+
+    @Test
+    void writeAfterAReadOnlyLookup_InOneRequest_ShouldRunOnThePrimary() throws Exception {
+        CreateBetRequest request = new CreateBetRequest();
+        request.setPoints(100);
+        request.setGameType("Ludo");
+
+        // currentUser() is a readOnly lookup and runs first; createBets then writes
+        mockMvc.perform(post("/api/v1/bets/batch")
+                        .with(user(creator.getUsername()))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bets WHERE creator_id = ?",
+                Long.class, creator.getId())).isEqualTo(1);
+    }
+}
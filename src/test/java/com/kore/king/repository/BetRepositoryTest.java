@@ -1,10 +1,15 @@
 package com.kore.king.repository;
 
+import com.kore.king.config.QueryBudget;
+import com.kore.king.config.QueryBudgetConfig;
 import com.kore.king.config.TestContainersConfiguration;
 import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetParticipant;
 import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.ParticipantRole;
 import com.kore.king.entity.User;
 import com.kore.king.entity.UserRole;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +27,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
-@Import(TestContainersConfiguration.class)
+@Import({TestContainersConfiguration.class, QueryBudgetConfig.class})
 class BetRepositoryTest {
 
     @Autowired
@@ -65,6 +70,12 @@ class BetRepositoryTest {
         acceptedBet.setStatus(BetStatus.ACCEPTED);
         acceptedBet.setAcceptor(acceptor);
         acceptedBet = betRepository.save(acceptedBet);
+
+        entityManager.persist(new BetParticipant(pendingBet, creator, ParticipantRole.CREATOR));
+        entityManager.persist(new BetParticipant(acceptedBet, creator, ParticipantRole.CREATOR));
+        entityManager.persist(new BetParticipant(acceptedBet, acceptor, ParticipantRole.ACCEPTOR));
+        entityManager.flush();
+        entityManager.clear();
     }
 
     @Test
@@ -140,4 +151,32 @@ class BetRepositoryTest {
         // Assert
         assertThat(result).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findById_ShouldNotLoadPlayers() {
+        // Act
+        Bet bet = QueryBudget.assertAtMost(1, () -> betRepository.findById(acceptedBet.getId()).orElseThrow());
+
+        // Assert
+        assertThat(Hibernate.isInitialized(bet.getCreator())).isFalse();
+        assertThat(Hibernate.isInitialized(bet.getAcceptor())).isFalse();
+    }
+
+    @Test
+    void findByStatus_ShouldFetchCreatorsForLobbyCardsInOneQuery() {
+        QueryBudget.assertAtMost(1, () -> {
+            List<Bet> result = betRepository.findByStatus(BetStatus.PENDING);
+            assertThat(result).extracting(bet -> bet.getCreator().getUsername()).containsExactly("creator");
+        });
+    }
+
+    @Test
+    void findUserBets_ShouldFetchBothPlayersWithThePage() {
+        QueryBudget.assertAtMost(2, () -> {
+            Page<Bet> result = betRepository.findUserBets(creator.getId(), PageRequest.of(0, 10));
+            assertThat(result.getContent())
+                    .extracting(bet -> bet.getAcceptor() != null ? bet.getAcceptor().getUsername() : null)
+                    .containsExactlyInAnyOrder("acceptor", null);
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.kore.king.repository;
+
+import com.kore.king.config.QueryBudget;
+import com.kore.king.config.QueryBudgetConfig;
+import com.kore.king.config.TestContainersConfiguration;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.Transaction;
+import com.kore.king.entity.TransactionType;
+import com.kore.king.entity.User;
+import com.kore.king.entity.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({TestContainersConfiguration.class, QueryBudgetConfig.class})
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User player;
+
+    @BeforeEach
+    void setUp() {
+        player = new User();
+        player.setUsername("player");
+        player.setEmail("player@test.com");
+        player.setPassword("password");
+        player.setRole(UserRole.USER);
+        entityManager.persist(player);
+
+        // One bet per row so a lazy history would need a select per transaction
+        for (int i = 0; i < 5; i++) {
+            Bet bet = new Bet(player, 100, "Ludo", "Bet " + i);
+            entityManager.persist(bet);
+
+            Transaction transaction = new Transaction();
+            transaction.setFromUser(player);
+            transaction.setAccountId(player.getId());
+            transaction.setPoints(100);
+            transaction.setType(TransactionType.BET_CREATION);
+            transaction.setBet(bet);
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findUserTransactions_ShouldLoadHistoryWithoutNPlusOne() {
+        QueryBudget.assertAtMost(1, () -> {
+            List<Transaction> history = transactionRepository.findUserTransactions(player.getId(),
+                    LocalDateTime.now().minusDays(1));
+            assertThat(history).hasSize(5);
+            assertThat(history).allSatisfy(transaction -> {
+                assertThat(transaction.getBet().getTitle()).startsWith("Bet ");
+                assertThat(transaction.getFromUser().getUsername()).isEqualTo("player");
+            });
+        });
+    }
+}
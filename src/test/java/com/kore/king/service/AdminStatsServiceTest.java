@@ -0,0 +1,123 @@
+package com.kore.king.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kore.king.dto.DailyAmount;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.PaymentStatus;
+import com.kore.king.repository.PaymentRequestRepository;
+import com.kore.king.repository.PlatformCounterRepository;
+import com.kore.king.repository.WithdrawalRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdminStatsServiceTest {
+
+    @Mock
+    private PlatformCounterRepository counterRepository;
+
+    @Mock
+    private PaymentRequestRepository paymentRequestRepository;
+
+    @Mock
+    private WithdrawalRequestRepository withdrawalRequestRepository;
+
+    @Mock
+    private SupportService supportService;
+
+    @InjectMocks
+    private AdminStatsService adminStatsService;
+
+    @Test
+    void getDashboardStats_ShouldReadCountsFromCounters() {
+        LocalDate today = LocalDate.now();
+        stubCounters(Map.of(
+                PlatformCounters.USERS_TOTAL, 120L,
+                PlatformCounters.usersRegisteredOn(today), 4L,
+                PlatformCounters.BETS_TOTAL, 300L,
+                PlatformCounters.bets(BetStatus.PENDING), 5L,
+                PlatformCounters.bets(BetStatus.ACCEPTED), 3L,
+                PlatformCounters.bets(BetStatus.CODE_SHARED), 2L,
+                PlatformCounters.bets(BetStatus.COMPLETED), 250L,
+                PlatformCounters.payments(PaymentStatus.PENDING), 7L));
+        when(counterRepository.sumAmountsByName(any())).thenReturn(Map.of(
+                PlatformCounters.PAYMENTS_AMOUNT, new BigDecimal("1500.00"),
+                PlatformCounters.WITHDRAWALS_AMOUNT, new BigDecimal("400.00")));
+        when(supportService.getOpenTicketCount()).thenReturn(6L);
+
+        Map<String, Object> stats = adminStatsService.getDashboardStats();
+
+        assertThat(stats).containsEntry("totalUsers", 120L);
+        assertThat(stats).containsEntry("todayRegistrations", 4L);
+        assertThat(stats).containsEntry("totalBets", 300L);
+        assertThat(stats).containsEntry("activeBets", 10L);
+        assertThat(stats).containsEntry("completedBets", 250L);
+        assertThat(stats).containsEntry("disputedBets", 0L);
+        assertThat(stats).containsEntry("pendingPayments", 7L);
+        assertThat(stats).containsEntry("pendingWithdrawals", 0L);
+        assertThat(stats).containsEntry("openTickets", 6L);
+        assertThat(stats).containsEntry("totalPaymentAmount", new BigDecimal("1500.00"));
+        assertThat(stats).containsEntry("totalWithdrawalAmount", new BigDecimal("400.00"));
+        verify(paymentRequestRepository, never()).findAll();
+        verify(withdrawalRequestRepository, never()).findAll();
+    }
+
+    @Test
+    void getRecentActivity_ShouldSumDailyCountersIncludingToday() {
+        LocalDate today = LocalDate.now();
+        stubCounters(Map.of(
+                PlatformCounters.usersRegisteredOn(today), 2L,
+                PlatformCounters.usersRegisteredOn(today.minusDays(7)), 1L,
+                PlatformCounters.usersRegisteredOn(today.minusDays(8)), 50L,
+                PlatformCounters.betsCreatedOn(today.minusDays(3)), 9L));
+
+        Map<String, Long> activity = adminStatsService.getRecentActivity();
+
+        assertThat(activity).containsEntry("registrationsLast7Days", 3L);
+        assertThat(activity).containsEntry("betsLast7Days", 9L);
+    }
+
+    @Test
+    void getDailyAmounts_ShouldUseDatabaseAggregatesFromStartOfDay() {
+        LocalDateTime since = LocalDate.now().minusDays(30).atStartOfDay();
+        List<DailyAmount> payments = List.of(
+                new DailyAmount(PaymentStatus.APPROVED, LocalDate.now(), new BigDecimal("250.00"), 2L));
+        when(paymentRequestRepository.sumAmountByStatusAndDay(since)).thenReturn(payments);
+        when(withdrawalRequestRepository.sumAmountByStatusAndDay(since)).thenReturn(List.of());
+
+        Map<String, List<DailyAmount>> amounts = adminStatsService.getDailyAmounts(30);
+
+        assertThat(amounts.get("payments")).isSameAs(payments);
+        assertThat(amounts.get("payments").get(0).getStatus()).isEqualTo("APPROVED");
+        assertThat(amounts.get("withdrawals")).isEmpty();
+    }
+
+    // Behaves like the repository: only requested names come back, unknown ones as zero
+    @SuppressWarnings("unchecked")
+    private void stubCounters(Map<String, Long> stored) {
+        when(counterRepository.sumByName(any())).thenAnswer(invocation -> {
+            Map<String, Long> values = new HashMap<>();
+            for (String name : (Collection<String>) invocation.getArgument(0)) {
+                values.put(name, stored.getOrDefault(name, 0L));
+            }
+            return values;
+        });
+    }
+}
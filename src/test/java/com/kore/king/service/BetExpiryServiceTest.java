@@ -0,0 +1,101 @@
+package com.kore.king.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.kore.king.config.CacheGenerations;
+import com.kore.king.config.LocalCacheGenerations;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.metrics.BetMetrics;
+import com.kore.king.repository.BetParticipantRepository;
+import com.kore.king.repository.BetRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BetExpiryServiceTest {
+
+    @Mock
+    private BetRepository betRepository;
+
+    @Mock
+    private BetParticipantRepository participantRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BetLobbyIndex lobbyIndex;
+
+    @Mock
+    private BroadcastOutbox outbox;
+
+    @Mock
+    private BetMetrics betMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheGenerations cacheGenerations = new LocalCacheGenerations();
+
+    private BetExpiryService betExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        betExpiryService = new BetExpiryService(betRepository, participantRepository, transactionService,
+                lobbyIndex, outbox, cacheGenerations, betMetrics, transactionManager);
+        ReflectionTestUtils.setField(betExpiryService, "chunkSize", 2);
+    }
+
+    @Test
+    void expireOverdueBets_ShouldSweepInChunksAndBroadcastOnce() {
+        when(betRepository.lockOverduePendingIds(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        betExpiryService.expireOverdueBets();
+
+        verify(betRepository).expirePendingBets(List.of(1L, 2L), BetExpiryService.EXPIRED_REASON);
+        verify(betRepository).expirePendingBets(List.of(3L), BetExpiryService.EXPIRED_REASON);
+        verify(participantRepository).updateStatusForBets(List.of(1L, 2L), BetStatus.CANCELLED);
+        verify(transactionService).recordExpiryRefunds(eq(List.of(1L, 2L)), any());
+        verify(transactionService).recordExpiryRefunds(eq(List.of(3L)), any());
+        verify(lobbyIndex).removeAll(List.of(1L, 2L));
+        verify(lobbyIndex).removeAll(List.of(3L));
+        verify(betMetrics).incrementBetsExpired(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> message = ArgumentCaptor.forClass(Map.class);
+        verify(outbox).send(eq("/topic/bets/all"), message.capture());
+        assertThat(message.getValue()).containsEntry("type", "BETS_EXPIRED");
+        assertThat(message.getValue()).containsEntry("betIds", List.of(1L, 2L, 3L));
+        assertThat(cacheGenerations.current("availableBets:PENDING")).isEqualTo(1);
+        assertThat(cacheGenerations.current("availableBets:ACCEPTED")).isZero();
+    }
+
+    @Test
+    void expireOverdueBets_WithNothingDue_ShouldNotWriteOrBroadcast() {
+        when(betRepository.lockOverduePendingIds(any(), anyInt())).thenReturn(List.of());
+
+        betExpiryService.expireOverdueBets();
+
+        verify(betRepository, never()).expirePendingBets(any(), any());
+        verifyNoInteractions(transactionService, lobbyIndex, outbox, betMetrics);
+    }
+}
@@ -0,0 +1,154 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.kore.king.config.CacheInvalidations;
+import com.kore.king.dto.BetCursor;
+import com.kore.king.dto.LobbyBet;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+import com.kore.king.entity.User;
+import com.kore.king.repository.BetRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BetLobbyIndexTest {
+
+    private BetRepository betRepository;
+    private BetLobbyIndex lobbyIndex;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        betRepository = mock(BetRepository.class);
+        lobbyIndex = new BetLobbyIndex(betRepository, new SimpleMeterRegistry(), invalidations(null), Runnable::run);
+
+        alice = new User();
+        alice.setId(1L);
+        alice.setUsername("alice");
+
+        bob = new User();
+        bob.setId(2L);
+        bob.setUsername("bob");
+    }
+
+    @Test
+    void rebuild_ShouldLoadPendingBetsNewestFirst() {
+        Bet older = bet(10L, alice, 100, "Ludo", 10);
+        Bet newer = bet(11L, bob, 250, "Chess", 5);
+        when(betRepository.findByStatusWithCreator(BetStatus.PENDING)).thenReturn(List.of(older, newer));
+
+        lobbyIndex.rebuild();
+
+        Page<LobbyBet> page = lobbyIndex.findAvailable(null, PageRequest.of(0, 10));
+        assertThat(lobbyIndex.isReady()).isTrue();
+        assertThat(page.getContent()).extracting(LobbyBet::getId).containsExactly(11L, 10L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void findAvailable_ShouldExcludeOwnBetsFromContentAndTotal() {
+        lobbyIndex.add(bet(1L, alice, 100, "Ludo", 3));
+        lobbyIndex.add(bet(2L, alice, 100, "Ludo", 2));
+        lobbyIndex.add(bet(3L, bob, 100, "Ludo", 1));
+
+        Page<LobbyBet> page = lobbyIndex.findAvailable(alice.getId(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(LobbyBet::getId).containsExactly(3L);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findAvailable_WithFilters_ShouldMatchGameTypeAndPointsRange() {
+        lobbyIndex.add(bet(1L, bob, 50, "Ludo", 4));
+        lobbyIndex.add(bet(2L, bob, 150, "Ludo", 3));
+        lobbyIndex.add(bet(3L, bob, 180, "Chess", 2));
+        lobbyIndex.add(bet(4L, bob, 320, "Ludo", 1));
+
+        Page<LobbyBet> page = lobbyIndex.findAvailable(alice.getId(), "Ludo", 100, 300, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(LobbyBet::getId).containsExactly(2L);
+    }
+
+    @Test
+    void remove_ShouldDropBetFromAllViews() {
+        lobbyIndex.add(bet(1L, bob, 150, "Ludo", 1));
+
+        lobbyIndex.remove(1L);
+
+        assertThat(lobbyIndex.size()).isZero();
+        assertThat(lobbyIndex.findAvailable(alice.getId(), "Ludo", null, null, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void findAvailableAfter_ShouldSeekPastTheCursorWithoutSkippingOrRepeating() {
+        for (long id = 1; id <= 5; id++) {
+            lobbyIndex.add(bet(id, bob, 100, "Ludo", (int) (10 - id)));
+        }
+
+        List<LobbyBet> first = lobbyIndex.findAvailableAfter(alice.getId(), BetCursor.FIRST, 2);
+        LobbyBet last = first.get(1);
+        List<LobbyBet> second = lobbyIndex.findAvailableAfter(alice.getId(),
+                BetCursor.decode(new BetCursor(last.getCreatedAt(), last.getId()).encode()), 2);
+
+        assertThat(first).extracting(LobbyBet::getId).containsExactly(5L, 4L);
+        assertThat(second).extracting(LobbyBet::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void add_WithInvalidations_ShouldAnnounceTheBetToOtherNodes() {
+        CacheInvalidations invalidations = mock(CacheInvalidations.class);
+        lobbyIndex = new BetLobbyIndex(betRepository, new SimpleMeterRegistry(), invalidations(invalidations),
+                Runnable::run);
+
+        lobbyIndex.add(bet(1L, bob, 150, "Ludo", 1));
+
+        verify(invalidations).register(BetLobbyIndex.INVALIDATION_NAME, lobbyIndex);
+        verify(invalidations).evicted(BetLobbyIndex.INVALIDATION_NAME, "1");
+    }
+
+    @Test
+    void evictLocal_ShouldReReadTheAnnouncedBets() {
+        lobbyIndex.add(bet(1L, bob, 150, "Ludo", 2));
+        lobbyIndex.add(bet(2L, bob, 150, "Ludo", 1));
+        Bet accepted = bet(1L, bob, 150, "Ludo", 2);
+        accepted.setStatus(BetStatus.ACCEPTED);
+        Bet raised = bet(2L, bob, 450, "Ludo", 1);
+        when(betRepository.findByIdInWithCreator(List.of(1L, 2L))).thenReturn(List.of(accepted, raised));
+
+        lobbyIndex.evictLocal("1,2");
+
+        assertThat(lobbyIndex.findAvailable(alice.getId(), PageRequest.of(0, 10)).getContent())
+                .extracting(LobbyBet::getId).containsExactly(2L);
+        assertThat(lobbyIndex.findAvailable(alice.getId(), "Ludo", 400, 500, PageRequest.of(0, 10)))
+                .extracting(LobbyBet::getId).containsExactly(2L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<CacheInvalidations> invalidations(CacheInvalidations invalidations) {
+        ObjectProvider<CacheInvalidations> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(invalidations);
+        return provider;
+    }
+
+    private Bet bet(Long id, User creator, int points, String gameType, int minutesAgo) {
+        Bet bet = new Bet(creator, points, gameType, "Bet " + id);
+        bet.setId(id);
+        bet.setCreatedAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        return bet;
+    }
+}
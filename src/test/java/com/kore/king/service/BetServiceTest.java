@@ -1,10 +1,21 @@
 package com.kore.king.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.kore.king.config.AppConfig;
+import com.kore.king.config.CacheGenerations;
 import com.kore.king.entity.*;
+import com.kore.king.exception.BetAlreadyAcceptedException;
+import com.kore.king.metrics.BetMetrics;
+import com.kore.king.dto.BatchBetResult;
+import com.kore.king.dto.BetCard;
+import com.kore.king.dto.BetCursor;
+import com.kore.king.dto.CreateBetRequest;
+import com.kore.king.dto.CursorPage;
+import com.kore.king.repository.BetParticipantRepository;
 import com.kore.king.repository.BetRepository;
+import com.kore.king.repository.JdbcBatchRepository;
 import com.kore.king.repository.TransactionRepository;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +36,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -53,6 +65,27 @@ class BetServiceTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private BetLobbyIndex lobbyIndex;
+
+    @Mock
+    private BetMetrics betMetrics;
+
+    @Mock
+    private BroadcastOutbox outbox;
+
+    @Mock
+    private BetDeadlineScheduler deadlineScheduler;
+
+    @Mock
+    private JdbcBatchRepository jdbcBatchRepository;
+
+    @Mock
+    private BetParticipantRepository participantRepository;
+
+    @Mock
+    private CacheGenerations cacheGenerations;
+
     @InjectMocks
     private BetService betService;
 
@@ -93,9 +126,6 @@ class BetServiceTest {
         // Arrange
         when(entityManager.find(User.class, 1L)).thenReturn(testCreator);
         when(betRepository.save(any(Bet.class))).thenReturn(testBet);
-        when(appConfig.getPlatformFeeWithReferral()).thenReturn(0.03);
-        when(appConfig.getPlatformFeeWithoutReferral()).thenReturn(0.04);
-        when(appConfig.getReferralCommission()).thenReturn(0.01);
 
         // Act
         Bet result = betService.createBet(1L, 100, "Ludo", "Test Bet", "Test Description");
@@ -127,7 +157,7 @@ class BetServiceTest {
         testBet.setStatus(BetStatus.PENDING);
         when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
         when(entityManager.find(User.class, 2L)).thenReturn(testAcceptor);
-        when(betRepository.save(any(Bet.class))).thenReturn(testBet);
+        when(betRepository.claimPendingBet(1L, testAcceptor)).thenReturn(1);
 
         // Act
         Bet result = betService.acceptBet(1L, 2L);
@@ -135,15 +165,55 @@ class BetServiceTest {
         // Assert
         assertThat(result.getStatus()).isEqualTo(BetStatus.ACCEPTED);
         assertThat(result.getAcceptor()).isEqualTo(testAcceptor);
-        verify(betRepository).save(testBet);
+        assertThat(testAcceptor.getHeldPoints()).isEqualTo(100);
+        verify(betRepository).claimPendingBet(1L, testAcceptor);
+        verify(betRepository, never()).save(any(Bet.class));
         verify(transactionService).recordBetAcceptance(testBet);
+        verify(participantRepository).updateStatus(1L, BetStatus.ACCEPTED);
+        verify(participantRepository).save(argThat(p -> p.getUserId().equals(2L) && p.getRole() == ParticipantRole.ACCEPTOR));
+    }
+
+    @Test
+    void acceptBet_WhenAnotherAcceptorWinsTheClaim_ShouldFailFastWithoutHoldingPoints() {
+        // Arrange
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
+        when(entityManager.find(User.class, 2L)).thenReturn(testAcceptor);
+        when(betRepository.claimPendingBet(1L, testAcceptor)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> betService.acceptBet(1L, 2L))
+                .isInstanceOf(BetAlreadyAcceptedException.class)
+                .hasMessageContaining("no longer available");
+        assertThat(testAcceptor.getHeldPoints()).isZero();
+        verify(betMetrics).incrementAcceptRacesLost();
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void acceptBet_WhenBalanceDropsBeforeTheLock_ShouldFailAfterTheClaim() {
+        // Arrange
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
+        when(entityManager.find(User.class, 2L)).thenReturn(testAcceptor);
+        when(betRepository.claimPendingBet(1L, testAcceptor)).thenReturn(1);
+        doAnswer(invocation -> {
+            testAcceptor.setAvailablePoints(50);
+            return null;
+        }).when(transactionService).lockAccount(testAcceptor);
+
+        // Act & Assert
+        assertThatThrownBy(() -> betService.acceptBet(1L, 2L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Insufficient points");
+        assertThat(testAcceptor.getHeldPoints()).isZero();
+        verify(transactionService, never()).recordBetAcceptance(any(Bet.class));
     }
 
     @Test
     void acceptBet_WithNonPendingBet_ShouldThrowException() {
         // Arrange
-        testBet.setStatus(BetStatus.ACCEPTED);
+        testBet.setStatus(BetStatus.CANCELLED);
         when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
+        when(entityManager.find(User.class, 2L)).thenReturn(testAcceptor);
 
         // Act & Assert
         assertThatThrownBy(() -> betService.acceptBet(1L, 2L)) // replace 2L with testAcceptor
@@ -168,7 +238,7 @@ class BetServiceTest {
         // Arrange
         testBet.setStatus(BetStatus.ACCEPTED);
         testBet.setAcceptor(testAcceptor);
-        when(betRepository.findById(1L)).thenReturn(Optional.of(testBet));
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
         when(betRepository.save(any(Bet.class))).thenReturn(testBet);
 
         // Act
@@ -184,7 +254,7 @@ class BetServiceTest {
     void setGameCode_AsNonCreator_ShouldThrowException() {
         // Arrange
         testBet.setStatus(BetStatus.ACCEPTED);
-        when(betRepository.findById(1L)).thenReturn(Optional.of(testBet));
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
 
         // Act & Assert
         assertThatThrownBy(() -> betService.setGameCode(1L, "GAME123", "acceptor"))
@@ -197,7 +267,7 @@ class BetServiceTest {
         // Arrange
         testBet.setStatus(BetStatus.CODE_SHARED);
         testBet.setAcceptor(testAcceptor);
-        when(betRepository.findById(1L)).thenReturn(Optional.of(testBet));
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
         when(betRepository.save(any(Bet.class))).thenReturn(testBet);
 
         // Act
@@ -214,7 +284,9 @@ class BetServiceTest {
         testBet.setStatus(BetStatus.CODE_SHARED);
         testBet.setAcceptor(testAcceptor);
         testBet.setCreatorResult(Result.WIN);
-        when(betRepository.findById(1L)).thenReturn(Optional.of(testBet));
+        testCreator.setHeldPoints(100);
+        testAcceptor.setHeldPoints(100);
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
         when(betRepository.save(any(Bet.class))).thenReturn(testBet);
         when(userService.saveUser(any(User.class))).thenReturn(testCreator);
 
@@ -223,6 +295,8 @@ class BetServiceTest {
 
         // Assert
         assertThat(testBet.getAcceptorResult()).isEqualTo(Result.LOSE);
+        assertThat(testBet.getStatus()).isEqualTo(BetStatus.COMPLETED);
+        assertThat(testCreator.getHeldPoints()).isZero();
         verify(betRepository, times(2)).save(testBet);
     }
 
@@ -232,8 +306,10 @@ class BetServiceTest {
         testBet.setCreatorResult(Result.WIN);
         testBet.setAcceptorResult(Result.LOSE);
         testBet.setAcceptor(testAcceptor);
+        testCreator.setHeldPoints(100);
+        testAcceptor.setHeldPoints(100);
         
-        when(referralService.hasActiveReferrer(testCreator)).thenReturn(false);
+        when(referralService.findActiveReferral(testCreator)).thenReturn(Optional.empty());
         when(appConfig.getPlatformFeeWithoutReferral()).thenReturn(0.04);
         when(userService.saveUser(any(User.class))).thenReturn(testCreator);
 
@@ -244,39 +320,50 @@ class BetServiceTest {
         assertThat(testBet.getStatus()).isEqualTo(BetStatus.COMPLETED);
         assertThat(testCreator.getWins()).isEqualTo(1);
         assertThat(testAcceptor.getLosses()).isEqualTo(1);
-        verify(transactionService).recordBetWin(testBet, testCreator);
+        assertThat(testCreator.getHeldPoints()).isZero();
+        assertThat(testAcceptor.getHeldPoints()).isZero();
+        assertThat(testCreator.getAvailablePoints()).isEqualTo(1192);
+        verify(transactionService).recordBetWin(testBet, testCreator, 192);
     }
 
     @Test
     void resolveBet_WithDispute_ShouldMarkAsDisputed() {
         // Arrange
+        testBet.setStatus(BetStatus.RESULTS_SUBMITTED);
         testBet.setCreatorResult(Result.WIN);
         testBet.setAcceptorResult(Result.WIN);
         testBet.setAcceptor(testAcceptor);
-        
-        when(userService.saveUser(any(User.class))).thenReturn(testCreator);
+        testCreator.setHeldPoints(100);
+        testAcceptor.setHeldPoints(100);
 
         // Act
         betService.resolveBet(testBet);
 
         // Assert
         assertThat(testBet.getStatus()).isEqualTo(BetStatus.DISPUTED);
+        assertThat(testCreator.getHeldPoints()).isZero();
+        assertThat(testCreator.getAvailablePoints()).isEqualTo(1100);
         verify(transactionService).recordBetRefund(testBet);
+        verify(cacheGenerations).advance("availableBets:RESULTS_SUBMITTED");
+        verify(cacheGenerations).advance("availableBets:DISPUTED");
+        verify(cacheGenerations, never()).advance("availableBets:COMPLETED");
     }
 
     @Test
     void cancelBet_ByCreator_ShouldCancelBet() {
         // Arrange
         testBet.setStatus(BetStatus.PENDING);
-        when(betRepository.findById(1L)).thenReturn(Optional.of(testBet));
+        testCreator.setHeldPoints(100);
+        when(betRepository.findByIdWithAcceptor(1L)).thenReturn(Optional.of(testBet));
         when(userService.findByUsername("creator")).thenReturn(Optional.of(testCreator));
-        when(userService.saveUser(any(User.class))).thenReturn(testCreator);
 
         // Act
         betService.cancelBet(1L, "creator");
 
         // Assert
         assertThat(testBet.getStatus()).isEqualTo(BetStatus.CANCELLED);
+        assertThat(testCreator.getHeldPoints()).isZero();
+        verify(userService, never()).saveUser(any(User.class));
         verify(transactionService).recordBetRefund(testBet);
     }
 
@@ -347,4 +434,128 @@ class BetServiceTest {
         // Assert
         assertThat(result).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void enforceDeadline_WhenCodeNeverShared_ShouldCancelAndRefundBothPlayers() {
+        // Arrange
+        testBet.setStatus(BetStatus.ACCEPTED);
+        testBet.setAcceptor(testAcceptor);
+        testCreator.setHeldPoints(100);
+        testAcceptor.setHeldPoints(100);
+        when(betRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBet));
+        when(deadlineScheduler.deadlineFor(testBet)).thenReturn(LocalDateTime.now().minusMinutes(1));
+
+        // Act
+        betService.enforceDeadline(1L);
+
+        // Assert
+        assertThat(testBet.getStatus()).isEqualTo(BetStatus.CANCELLED);
+        assertThat(testCreator.getHeldPoints()).isZero();
+        assertThat(testAcceptor.getHeldPoints()).isZero();
+        verify(transactionService).recordBetRefund(testBet);
+        verify(betRepository).save(testBet);
+        verify(cacheGenerations).advance("availableBets:ACCEPTED");
+        verify(cacheGenerations).advance("availableBets:CANCELLED");
+    }
+
+    @Test
+    void enforceDeadline_WhenDeadlineMovedLater_ShouldRescheduleWithoutChanges() {
+        // Arrange
+        testBet.setStatus(BetStatus.CODE_SHARED);
+        testBet.setAcceptor(testAcceptor);
+        when(betRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBet));
+        when(deadlineScheduler.deadlineFor(testBet)).thenReturn(LocalDateTime.now().plusMinutes(5));
+
+        // Act
+        betService.enforceDeadline(1L);
+
+        // Assert
+        assertThat(testBet.getStatus()).isEqualTo(BetStatus.CODE_SHARED);
+        verify(deadlineScheduler).schedule(testBet);
+        verify(betRepository, never()).save(any(Bet.class));
+        verifyNoInteractions(cacheGenerations);
+    }
+
+    @Test
+    void createBets_ShouldInsertAffordableBetsInOneBatchAndReportTheRest() {
+        // Arrange
+        testCreator.setAvailablePoints(250);
+        when(entityManager.find(User.class, 1L)).thenReturn(testCreator);
+        doAnswer(invocation -> {
+            List<Bet> bets = invocation.getArgument(0);
+            for (int i = 0; i < bets.size(); i++) {
+                bets.get(i).setId(100L + i);
+            }
+            return null;
+        }).when(jdbcBatchRepository).insertBets(anyList());
+
+        List<CreateBetRequest> requests = List.of(
+                request(100, "Ludo"), request(0, "Ludo"), request(100, "Chess"), request(100, "Ludo"));
+
+        // Act
+        List<BatchBetResult> results = betService.createBets(1L, requests);
+
+        // Assert
+        assertThat(results).extracting(BatchBetResult::isSuccess).containsExactly(true, false, true, false);
+        assertThat(results.get(0).getBetId()).isEqualTo(100L);
+        assertThat(results.get(2).getBetId()).isEqualTo(101L);
+        assertThat(results.get(3).getError()).contains("Insufficient points");
+        assertThat(testCreator.getHeldPoints()).isEqualTo(200);
+        verify(transactionService, times(1)).lockAccount(testCreator);
+        verify(jdbcBatchRepository, times(1)).insertBets(anyList());
+        verify(transactionService, times(1)).recordBetCreations(anyList());
+        verify(lobbyIndex, times(1)).addAll(anyList());
+        verify(betRepository, never()).save(any(Bet.class));
+        verify(cacheGenerations, times(1)).advance("availableBets:PENDING");
+        verify(cacheGenerations).advance("availableBets:PENDING:game=Ludo");
+        verify(cacheGenerations).advance("availableBets:PENDING:game=Chess");
+    }
+
+    @Test
+    void findUserBets_WithCursor_ShouldKeepKeysetOrderAndReturnNextCursor() {
+        // Arrange
+        Bet newer = new Bet(testCreator, 100, "Ludo", "Newer");
+        newer.setId(7L);
+        Bet older = new Bet(testCreator, 100, "Ludo", "Older");
+        older.setId(5L);
+        when(betRepository.findUserBetIdsBefore(eq(1L), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(3)))
+                .thenReturn(List.of(7L, 5L, 3L));
+        when(betRepository.findAllWithParticipantsByIdIn(List.of(7L, 5L))).thenReturn(List.of(older, newer));
+
+        // Act
+        CursorPage<Bet> page = betService.findUserBets(1L, null, 2);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Bet::getId).containsExactly(7L, 5L);
+        assertThat(page.isHasNext()).isTrue();
+        BetCursor next = BetCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo(5L);
+        assertThat(next.getCreatedAt()).isEqualTo(older.getCreatedAt());
+    }
+
+    @Test
+    void findPlayPageBets_ShouldServeCardsWithoutLoadingEntities() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        BetCard card = new BetCard(1L, "Test Bet", 100, "Ludo", BetStatus.PENDING, null, null, null,
+                LocalDateTime.now(), 1L, "creator", null, null);
+        when(betRepository.findBetCardsForUserWithAvailable(2L, pageable)).thenReturn(new PageImpl<>(List.of(card)));
+
+        // Act
+        Page<BetCard> result = betService.findPlayPageBets(2L, pageable);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(card);
+        assertThat(result.getContent().get(0).getCreator().getUsername()).isEqualTo("creator");
+        assertThat(result.getContent().get(0).getAcceptor()).isNull();
+        verify(betRepository, never()).findAllBetsForUserWithAvailable(any(), any());
+    }
+
+    private CreateBetRequest request(int points, String gameType) {
+        CreateBetRequest request = new CreateBetRequest();
+        request.setPoints(points);
+        request.setGameType(gameType);
+        request.setTitle(gameType + " " + points);
+        return request;
+    }
+}
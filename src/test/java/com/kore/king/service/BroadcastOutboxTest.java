@@ -0,0 +1,91 @@
+package com.kore.king.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class BroadcastOutboxTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private BroadcastOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        outbox = new BroadcastOutbox(messagingTemplate, new SimpleMeterRegistry());
+        outbox.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        outbox.stop();
+    }
+
+    @Test
+    void send_OutsideTransaction_ShouldPublishImmediately() {
+        outbox.send("/topic/bets/all", "hello");
+
+        verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/bets/all", (Object) "hello");
+    }
+
+    @Test
+    void send_InsideTransaction_ShouldPublishOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.send("/topic/bets/all", "hello");
+
+        verify(messagingTemplate, after(200).never()).convertAndSend(anyString(), any(Object.class));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/bets/all", (Object) "hello");
+    }
+
+    @Test
+    void send_InsideRolledBackTransaction_ShouldNeverPublish() {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.sendToUser("alice", "/queue/notifications", "phantom");
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(messagingTemplate, after(300).never()).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void sendLatestToUser_ShouldCoalesceMessagesCommittedTogether() {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.sendLatestToUser("alice", "/queue/notifications", "POINTS_UPDATED", "900");
+        outbox.sendLatestToUser("alice", "/queue/notifications", "POINTS_UPDATED", "800");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(messagingTemplate, timeout(1000)).convertAndSendToUser("alice", "/queue/notifications", "800");
+        verify(messagingTemplate, never()).convertAndSendToUser("alice", "/queue/notifications", "900");
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+}
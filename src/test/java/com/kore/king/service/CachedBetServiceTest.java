@@ -0,0 +1,98 @@
+package com.kore.king.service;
+
+import com.kore.king.config.LocalCacheGenerations;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.BetStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedBetServiceTest {
+
+    @Mock
+    private BetService betService;
+
+    private CachedBetService cachedBetService;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @BeforeEach
+    void setUp() {
+        cachedBetService = new CachedBetService(betService, new LocalCacheGenerations());
+    }
+
+    @Test
+    void createBet_ShouldRetireOnlyPendingPages() {
+        String pending = cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, firstPage);
+        String accepted = cachedBetService.availableBetsKey(BetStatus.ACCEPTED, 1L, firstPage);
+        when(betService.createBet(2L, 100, "chess", "title", null)).thenReturn(new Bet());
+
+        cachedBetService.createBet(2L, 100, "chess", "title", null);
+
+        assertThat(cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, firstPage)).isNotEqualTo(pending);
+        assertThat(cachedBetService.availableBetsKey(BetStatus.ACCEPTED, 1L, firstPage)).isEqualTo(accepted);
+    }
+
+    @Test
+    void acceptBet_ShouldRetirePendingAndAcceptedPages() {
+        String pending = cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, firstPage);
+        String accepted = cachedBetService.availableBetsKey(BetStatus.ACCEPTED, 1L, firstPage);
+        String cancelled = cachedBetService.availableBetsKey(BetStatus.CANCELLED, 1L, firstPage);
+        when(betService.acceptBet(10L, 1L)).thenReturn(new Bet());
+
+        cachedBetService.acceptBet(10L, 1L);
+
+        assertThat(cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, firstPage)).isNotEqualTo(pending);
+        assertThat(cachedBetService.availableBetsKey(BetStatus.ACCEPTED, 1L, firstPage)).isNotEqualTo(accepted);
+        assertThat(cachedBetService.availableBetsKey(BetStatus.CANCELLED, 1L, firstPage)).isEqualTo(cancelled);
+    }
+
+    @Test
+    void availableBetsKey_ShouldStillSeparateUsersAndPages() {
+        assertThat(cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, firstPage))
+                .isNotEqualTo(cachedBetService.availableBetsKey(BetStatus.PENDING, 2L, firstPage))
+                .isNotEqualTo(cachedBetService.availableBetsKey(BetStatus.PENDING, 1L, PageRequest.of(1, 20)));
+    }
+
+    @Test
+    void createBet_ShouldRetireOnlyLobbyPagesCoveringItsGameAndBucket() {
+        String sameSlot = cachedBetService.lobbyKey(1L, "chess", 100, 199, firstPage);
+        String otherGame = cachedBetService.lobbyKey(1L, "ludo", 100, 199, firstPage);
+        String otherBucket = cachedBetService.lobbyKey(1L, "chess", 500, 599, firstPage);
+        String anyGameSameBucket = cachedBetService.lobbyKey(1L, null, 100, 199, firstPage);
+        String wholeGame = cachedBetService.lobbyKey(1L, "chess", null, null, firstPage);
+        when(betService.createBet(2L, 150, "chess", "title", null)).thenReturn(bet("chess", 150));
+
+        cachedBetService.createBet(2L, 150, "chess", "title", null);
+
+        assertThat(cachedBetService.lobbyKey(1L, "chess", 100, 199, firstPage)).isNotEqualTo(sameSlot);
+        assertThat(cachedBetService.lobbyKey(1L, null, 100, 199, firstPage)).isNotEqualTo(anyGameSameBucket);
+        assertThat(cachedBetService.lobbyKey(1L, "chess", null, null, firstPage)).isNotEqualTo(wholeGame);
+        assertThat(cachedBetService.lobbyKey(1L, "ludo", 100, 199, firstPage)).isEqualTo(otherGame);
+        assertThat(cachedBetService.lobbyKey(1L, "chess", 500, 599, firstPage)).isEqualTo(otherBucket);
+    }
+
+    @Test
+    void lobbyGenerations_WithAWideRange_ShouldFallBackToTheGame() {
+        assertThat(CachedBetService.lobbyGenerations("chess", 0, 10_000))
+                .containsExactly("availableBets:PENDING:game=chess");
+        assertThat(CachedBetService.lobbyGenerations(null, 100, 250))
+                .containsExactly("availableBets:PENDING:bucket=1", "availableBets:PENDING:bucket=2");
+    }
+
+    private Bet bet(String gameType, int points) {
+        Bet bet = new Bet();
+        bet.setGameType(gameType);
+        bet.setPoints(points);
+        return bet;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kore.king.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.kore.king.repository.LedgerPartitionRepository;
+import com.kore.king.repository.LedgerPartitionRepository.AttachedPartition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPartitionServiceTest {
+
+    @Mock
+    private LedgerPartitionRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LedgerPartitionService partitionService;
+
+    @Test
+    void createUpcomingPartitions_ShouldOnlyCreateMissingMonths() {
+        YearMonth current = YearMonth.of(2026, 10);
+        when(partitionRepository.partitionExists(any())).thenReturn(true);
+        when(partitionRepository.partitionExists(YearMonth.of(2027, 1))).thenReturn(false);
+
+        partitionService.createUpcomingPartitions(current);
+
+        verify(partitionRepository).createPartition(YearMonth.of(2027, 1));
+        verify(partitionRepository, never()).createPartition(current);
+    }
+
+    @Test
+    void archiveExpiredPartitions_ShouldArchiveOnlyExpiredMonthsCoveredBySnapshots() {
+        AttachedPartition covered = new AttachedPartition("transactions_p202501", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+        AttachedPartition unsnapshotted = new AttachedPartition("transactions_p202502", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        AttachedPartition live = new AttachedPartition("transactions_p202610", LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        AttachedPartition fallback = new AttachedPartition("transactions_default", null, null);
+        when(partitionRepository.snapshotWatermark()).thenReturn(1_000L);
+        when(partitionRepository.findAttachedPartitions()).thenReturn(List.of(covered, unsnapshotted, live, fallback));
+        when(partitionRepository.maxId(covered)).thenReturn(900L);
+        when(partitionRepository.maxId(unsnapshotted)).thenReturn(1_200L);
+
+        partitionService.archiveExpiredPartitions(LocalDate.of(2026, 10, 18));
+
+        verify(partitionRepository).detachAndArchive(covered, "");
+        verify(partitionRepository, never()).detachAndArchive(unsnapshotted, "");
+        verify(partitionRepository, never()).maxId(live);
+        verify(partitionRepository, never()).detachAndArchive(fallback, "");
+    }
+
+    @Test
+    void maintainPartitions_WhenTheTableIsNotPartitioned_ShouldSkip() {
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        partitionService.maintainPartitions();
+
+        verify(partitionRepository).isPartitioned();
+        verifyNoMoreInteractions(partitionRepository);
+    }
+
+    @Test
+    void archiveExpiredPartitions_ShouldSplitExpiredMonthsOffTheLegacyPartition() {
+        AttachedPartition legacy = new AttachedPartition("transactions_legacy", null, LocalDate.of(2025, 6, 1));
+        when(partitionRepository.snapshotWatermark()).thenReturn(1_000L);
+        when(partitionRepository.findAttachedPartitions()).thenReturn(List.of(legacy));
+        when(partitionRepository.oldestDate(legacy))
+                .thenReturn(LocalDate.of(2024, 12, 14), LocalDate.of(2025, 1, 3));
+        when(partitionRepository.maxIdBefore(legacy, LocalDate.of(2025, 1, 1))).thenReturn(500L);
+        when(partitionRepository.maxIdBefore(legacy, LocalDate.of(2025, 2, 1))).thenReturn(1_200L);
+
+        partitionService.archiveExpiredPartitions(LocalDate.of(2026, 10, 18));
+
+        verify(partitionRepository).archiveMonth(legacy, YearMonth.of(2024, 12), "");
+        verify(partitionRepository, never()).archiveMonth(legacy, YearMonth.of(2025, 1), "");
+        verify(partitionRepository, never()).detachAndArchive(legacy, "");
+    }
+}
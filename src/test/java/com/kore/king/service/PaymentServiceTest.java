@@ -35,6 +35,9 @@ class PaymentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TransactionService transactionService;
+
     @Mock
     private MultipartFile screenshot;
 
@@ -103,7 +106,6 @@ class PaymentServiceTest {
     void approvePaymentRequest_WithPendingRequest_ShouldApprove() {
         // Arrange
         when(paymentRequestRepository.findById(1L)).thenReturn(Optional.of(testPaymentRequest));
-        when(userService.saveUser(testUser)).thenReturn(testUser);
         when(paymentRequestRepository.save(any(PaymentRequest.class))).thenReturn(testPaymentRequest);
 
         // Act
@@ -113,6 +115,7 @@ class PaymentServiceTest {
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.APPROVED);
         assertThat(result.getTransactionId()).isEqualTo("TXN123");
         assertThat(testUser.getAvailablePoints()).isEqualTo(2000); // 1000 initial + 1000 from payment
+        verify(transactionService).recordDeposit(eq(testUser), eq(1000), anyString());
         verify(paymentRequestRepository).save(testPaymentRequest);
     }
 
@@ -0,0 +1,109 @@
+package com.kore.king.service;
+
+import java.util.Optional;
+
+import com.kore.king.dto.ActiveReferral;
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.Referral;
+import com.kore.king.entity.User;
+import com.kore.king.repository.ReferralRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferralServiceTest {
+
+    @Mock
+    private ReferralRepository referralRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ReferralService referralService;
+
+    private User referrer;
+    private User winner;
+
+    @BeforeEach
+    void setUp() {
+        referralService = new ReferralService(referralRepository, userService, transactionService, entityManager,
+                new ConcurrentMapCacheManager("activeReferrals"));
+
+        referrer = new User();
+        referrer.setId(1L);
+        referrer.setUsername("referrer");
+
+        winner = new User();
+        winner.setId(2L);
+        winner.setUsername("winner");
+    }
+
+    @Test
+    void findActiveReferral_ShouldHitTheDatabaseOnceForRepeatedLookups() {
+        when(referralRepository.findActiveByReferredId(2L)).thenReturn(Optional.of(view(10L, 1L)));
+
+        Optional<ActiveReferral> first = referralService.findActiveReferral(winner);
+        Optional<ActiveReferral> second = referralService.findActiveReferral(winner);
+
+        assertThat(first).isPresent();
+        assertThat(second.get().getReferrerId()).isEqualTo(1L);
+        verify(referralRepository, times(1)).findActiveByReferredId(2L);
+    }
+
+    @Test
+    void findActiveReferral_ShouldCacheMissesUntilAReferralIsCreated() {
+        when(referralRepository.findActiveByReferredId(2L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(view(10L, 1L)));
+        when(referralRepository.findByReferred(winner)).thenReturn(Optional.empty());
+        when(referralRepository.save(any(Referral.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(referralService.hasActiveReferrer(winner)).isFalse();
+        assertThat(referralService.hasActiveReferrer(winner)).isFalse();
+
+        referralService.createReferral(referrer, winner);
+
+        assertThat(referralService.hasActiveReferrer(winner)).isTrue();
+        verify(referralRepository, times(2)).findActiveByReferredId(2L);
+    }
+
+    @Test
+    void awardReferralCommission_ShouldUpdateStatsAndPayReferrerWithoutLoadingTheReferral() {
+        when(entityManager.getReference(User.class, 1L)).thenReturn(referrer);
+        Bet bet = new Bet(winner, 100, "Ludo", "Test Bet");
+
+        referralService.awardReferralCommission(new ActiveReferral(10L, 1L), bet, 200);
+
+        verify(referralRepository).addReferredWin(10L, 2.0);
+        verify(transactionService).recordReferralCommission(referrer, 2, bet);
+    }
+
+    private ReferralRepository.ActiveReferralView view(Long referralId, Long referrerId) {
+        return new ReferralRepository.ActiveReferralView() {
+            @Override
+            public Long getReferralId() { return referralId; }
+
+            @Override
+            public Long getReferrerId() { return referrerId; }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.kore.king.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000L;
+
+    @Test
+    void advance_ShouldFireTimersOnlyOnceTheirDeadlinePasses() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0L);
+        wheel.schedule(1L, 5 * TICK);
+        wheel.schedule(2L, 70 * TICK);
+
+        assertThat(wheel.advance(4 * TICK)).isEmpty();
+        assertThat(wheel.advance(5 * TICK)).containsExactly(1L);
+        assertThat(wheel.advance(69 * TICK)).isEmpty();
+        assertThat(wheel.advance(70 * TICK)).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ShouldCascadeLongTimersThroughEveryLevel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0L);
+        long[] deadlines = {63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 300_000, 20_000_000};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule((long) i, deadlines[i] * TICK);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (int i = 0; i < deadlines.length; i++) {
+            assertThat(wheel.advance((deadlines[i] - 1) * TICK)).isEmpty();
+            List<Long> now = wheel.advance(deadlines[i] * TICK);
+            assertThat(now).containsExactly((long) i);
+            fired.addAll(now);
+        }
+        assertThat(fired).hasSize(deadlines.length);
+    }
+
+    @Test
+    void schedule_ShouldReplaceAndCancelExistingTimers() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0L);
+        wheel.schedule(1L, 10 * TICK);
+        wheel.schedule(1L, 20 * TICK);
+        wheel.schedule(2L, 15 * TICK);
+        wheel.cancel(2L);
+
+        assertThat(wheel.advance(15 * TICK)).isEmpty();
+        assertThat(wheel.advance(20 * TICK)).containsExactly(1L);
+    }
+
+    @Test
+    void schedule_WithPastDeadline_ShouldFireOnNextAdvance() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 100 * TICK);
+        wheel.schedule(1L, 50 * TICK);
+
+        assertThat(wheel.advance(100 * TICK)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.kore.king.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.kore.king.entity.Bet;
+import com.kore.king.entity.User;
+import com.kore.king.repository.BalanceSnapshotRepository;
+import com.kore.king.repository.JdbcBatchRepository;
+import com.kore.king.repository.TransactionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+
+    private TransactionRepository transactionRepository;
+    private JdbcBatchRepository jdbcBatchRepository;
+    private Cache secondLevelCache;
+    private TransactionService transactionService;
+
+    private User creator;
+    private User acceptor;
+
+    @BeforeEach
+    void setUp() {
+        jdbcBatchRepository = mock(JdbcBatchRepository.class);
+        secondLevelCache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        transactionRepository = mock(TransactionRepository.class);
+        transactionService = new TransactionService(transactionRepository,
+                mock(BalanceSnapshotRepository.class), jdbcBatchRepository, entityManagerFactory);
+
+        creator = new User();
+        creator.setId(1L);
+        acceptor = new User();
+        acceptor.setId(2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordBetRefund_ShouldEvictTheMovedAccountsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        transactionService.recordBetRefund(bet());
+
+        verify(jdbcBatchRepository).insertTransactions(anyList());
+        verifyNoInteractions(secondLevelCache);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(secondLevelCache).evict(User.class, 1L);
+        verify(secondLevelCache).evict(User.class, 2L);
+    }
+
+    @Test
+    void recordBetRefund_WithoutATransaction_ShouldEvictImmediately() {
+        transactionService.recordBetRefund(bet());
+
+        verify(secondLevelCache).evict(User.class, 1L);
+        verify(secondLevelCache).evict(User.class, 2L);
+    }
+
+    @Test
+    void recordExpiryRefunds_ShouldEvictTheRefundedCreatorsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        LocalDateTime now = LocalDateTime.now();
+        when(transactionRepository.findCreatorIds(List.of(10L, 11L))).thenReturn(List.of(1L, 2L));
+
+        transactionService.recordExpiryRefunds(List.of(10L, 11L), now);
+
+        verify(transactionRepository).insertExpiryRefunds(List.of(10L, 11L), now);
+        verifyNoInteractions(secondLevelCache);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(secondLevelCache).evict(User.class, 1L);
+        verify(secondLevelCache).evict(User.class, 2L);
+    }
+
+    @Test
+    void lockAccounts_ShouldLockInIdOrderAndRefreshBothBalances() {
+        TransactionRepository.LedgerTotals totals = mock(TransactionRepository.LedgerTotals.class);
+        when(totals.getAvailable()).thenReturn(400L);
+        when(totals.getHeld()).thenReturn(100L);
+        when(transactionRepository.sumLedgerAfter(anyLong(), anyLong())).thenReturn(totals);
+
+        transactionService.lockAccounts(acceptor, creator);
+
+        InOrder locks = inOrder(transactionRepository);
+        locks.verify(transactionRepository).lockAccount(1L);
+        locks.verify(transactionRepository).lockAccount(2L);
+        assertThat(creator.getHeldPoints()).isEqualTo(100);
+        assertThat(acceptor.getAvailablePoints()).isEqualTo(400);
+    }
+
+    private Bet bet() {
+        Bet bet = new Bet();
+        bet.setId(10L);
+        bet.setTitle("Ludo");
+        bet.setPoints(100);
+        bet.setCreator(creator);
+        bet.setAcceptor(acceptor);
+        return bet;
+    }
+}
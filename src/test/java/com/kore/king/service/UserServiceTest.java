@@ -29,6 +29,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TransactionService transactionService;
+
     @InjectMocks
     private UserService userService;
 
@@ -65,6 +68,7 @@ class UserServiceTest {
         assertThat(result).isEqualTo(newUser);
         verify(userRepository).save(newUser);
         verify(passwordEncoder).encode("password");
+        verify(transactionService).recordOpeningBalance(newUser, 1000);
     }
 
     @Test
@@ -100,7 +104,7 @@ class UserServiceTest {
     @Test
     void findByUsername_WithExistingUser_ShouldReturnUser() {
         // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.loadByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // Act
         Optional<User> result = userService.findByUsername("testuser");
@@ -113,7 +117,7 @@ class UserServiceTest {
     @Test
     void findByUsername_WithNonExistingUser_ShouldReturnEmpty() {
         // Arrange
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.loadByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // Act
         Optional<User> result = userService.findByUsername("nonexistent");